@@ -0,0 +1,140 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.query.BatchQueryResultDto;
+import com.example.qe.queryengine.query.QueryContextDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs the queries of a batch request concurrently on a small bounded pool, so a page issuing many
+ * independent filters costs one HTTP call while concurrent database work stays capped.
+ * The parallelism should stay below the connection pool size. When the queue is full, the request
+ * thread runs the query itself, which throttles callers instead of rejecting work.
+ */
+@Slf4j
+@Component
+public class BatchQueryExecutor {
+
+    private final int maxBatchSize;
+    private final ThreadPoolExecutor executor;
+
+    public BatchQueryExecutor(@Value("${queryengine.batch.max-size:100}") int maxBatchSize,
+                              @Value("${queryengine.batch.parallelism:4}") int parallelism) {
+        if (maxBatchSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("Batch size and parallelism must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(maxBatchSize), threadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executes every request and returns the outcomes keyed by request id, in request order.
+     * A failing query is reported in its own entry and does not fail the batch.
+     */
+    public Map<String, BatchQueryResultDto> execute(List<QueryContextDto> requests,
+                                                    Function<QueryContextDto, List<Map<String, Object>>> query) {
+        return executeGrouped(requests, QueryContextDto::getRequestId,
+                group -> Map.of(group.get(0).getRequestId(), BatchQueryResultDto.builder().rows(query.apply(group.get(0))).build()));
+    }
+
+    /**
+     * Executes the requests in groups sharing the same key, one task per group, e.g. to answer all
+     * filters on a table with one scan. The group query returns an outcome per request id of the group;
+     * if it throws, every request of the group reports the error.
+     */
+    public Map<String, BatchQueryResultDto> executeGrouped(List<QueryContextDto> requests,
+                                                           Function<QueryContextDto, String> groupKey,
+                                                           Function<List<QueryContextDto>, Map<String, BatchQueryResultDto>> groupQuery) {
+        validate(requests);
+
+        Map<String, List<QueryContextDto>> groups = new LinkedHashMap<>();
+        for (QueryContextDto request : requests) {
+            groups.computeIfAbsent(groupKey.apply(request), key -> new ArrayList<>()).add(request);
+        }
+        List<CompletableFuture<Map<String, BatchQueryResultDto>>> futures = new ArrayList<>(groups.size());
+        for (List<QueryContextDto> group : groups.values()) {
+            futures.add(CompletableFuture.supplyAsync(() -> run(group, groupQuery), executor));
+        }
+
+        Map<String, BatchQueryResultDto> outcomes = new HashMap<>();
+        futures.forEach(future -> outcomes.putAll(future.join()));
+        Map<String, BatchQueryResultDto> results = new LinkedHashMap<>();
+        for (QueryContextDto request : requests) {
+            results.put(request.getRequestId(), outcomes.get(request.getRequestId()));
+        }
+        return results;
+    }
+
+    private Map<String, BatchQueryResultDto> run(List<QueryContextDto> group,
+                                                 Function<List<QueryContextDto>, Map<String, BatchQueryResultDto>> groupQuery) {
+        try {
+            return groupQuery.apply(group);
+        } catch (QueryEngineException e) {
+            return failed(group, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Batch query {} failed: {}", group.get(0).getRequestId(), e.getMessage());
+            return failed(group, e.getMessage());
+        }
+    }
+
+    private static Map<String, BatchQueryResultDto> failed(List<QueryContextDto> group, String error) {
+        Map<String, BatchQueryResultDto> results = new HashMap<>();
+        for (QueryContextDto request : group) {
+            results.put(request.getRequestId(), BatchQueryResultDto.builder().error(error).build());
+        }
+        return results;
+    }
+
+    private void validate(List<QueryContextDto> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new QueryEngineException("Batch must contain at least one query");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new QueryEngineException("Batch contains " + requests.size() + " queries, the maximum is " + maxBatchSize);
+        }
+        Set<String> requestIds = new HashSet<>();
+        for (QueryContextDto request : requests) {
+            String requestId = request == null ? null : request.getRequestId();
+            if (requestId == null || requestId.isBlank()) {
+                throw new QueryEngineException("Every query in a batch needs a requestId");
+            }
+            if (!requestIds.add(requestId)) {
+                throw new QueryEngineException("Duplicate requestId in batch: " + requestId);
+            }
+        }
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "qe-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
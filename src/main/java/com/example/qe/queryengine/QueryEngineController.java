@@ -1,7 +1,11 @@
 package com.example.qe.queryengine;
 
+import com.example.qe.queryengine.helper.BoundedCache;
 import com.example.qe.queryengine.helper.JsonHelper;
+import com.example.qe.queryengine.query.BatchQueryResultDto;
 import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.query.QueryPageDto;
+import com.example.qe.queryengine.query.SlowQueryEntryDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.jooq.Record;
@@ -9,6 +13,7 @@ import org.jooq.Result;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -36,6 +41,58 @@ public class QueryEngineController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/executeQueryBatch")
+    public ResponseEntity<Map<String, BatchQueryResultDto>> executeQueryBatch(@RequestBody List<QueryContextDto> contexts) {
+        return ResponseEntity.ok(queryEngineService.executeQueryBatch(contexts));
+    }
+
+    @PostMapping("/executeQueryCount")
+    public ResponseEntity<Long> executeQueryCount(@RequestBody QueryContextDto context) {
+        return ResponseEntity.ok(queryEngineService.executeQueryCount(context));
+    }
+
+    @PostMapping("/executeQueryExists")
+    public ResponseEntity<Boolean> executeQueryExists(@RequestBody QueryContextDto context) {
+        return ResponseEntity.ok(queryEngineService.executeQueryExists(context));
+    }
+
+    @PostMapping("/executeQueryPage")
+    public ResponseEntity<QueryPageDto> executeQueryPage(@RequestBody QueryContextDto context) {
+        return ResponseEntity.ok(queryEngineService.executeQueryPage(context));
+    }
+
+    @PostMapping(value = "/executeQueryToStream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> executeQueryToStream(@RequestBody QueryContextDto context) {
+        return ResponseEntity.ok(queryEngineService.executeQueryToStream(context));
+    }
+
+    @GetMapping("/planCacheStats")
+    public ResponseEntity<BoundedCache.Stats> planCacheStats() {
+        return ResponseEntity.ok(queryEngineService.getPlanCacheStats());
+    }
+
+    @GetMapping("/resultCacheStats")
+    public ResponseEntity<BoundedCache.Stats> resultCacheStats() {
+        return ResponseEntity.ok(queryEngineService.getResultCacheStats());
+    }
+
+    @GetMapping("/slowQueries")
+    public ResponseEntity<List<SlowQueryEntryDto>> slowQueries() {
+        return ResponseEntity.ok(queryEngineService.getSlowQueries());
+    }
+
+    @PostMapping("/clearSlowQueries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        queryEngineService.clearSlowQueries();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/invalidateResultCache")
+    public ResponseEntity<Void> invalidateResultCache(@RequestParam(required = false) String tableName) {
+        queryEngineService.invalidateResultCache(tableName);
+        return ResponseEntity.noContent().build();
+    }
+
 //    @PostMapping("/testJsonStringInput")
 //    public ResponseEntity<List<Map<String, Object>>> testJsonStringInput(@RequestBody String json) throws JsonProcessingException {
 //
@@ -0,0 +1,167 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.helper.BoundedCache;
+import com.example.qe.queryengine.plan.QueryPlan;
+import com.example.qe.queryengine.query.EvaluationContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for the query pipeline, exposed through the actuator's Prometheus endpoint:
+ * <ul>
+ *     <li>{@code queryengine.stage}: timer per pipeline stage and table</li>
+ *     <li>{@code queryengine.operator.usage}: counter per operator, once per occurrence in each executed query</li>
+ *     <li>{@code queryengine.rows}: distribution of rows returned per query and table</li>
+ *     <li>{@code queryengine.serialized.bytes}: distribution of bytes written per streamed response and table</li>
+ * </ul>
+ * Stages nest: bind includes the placeholder resolution it triggers. Meters are looked up once per
+ * tag combination and kept, so recording does not allocate meter ids on the request path.
+ * The table tag comes from the request, before it is validated, so a table is only tagged by name once
+ * the {@link TableMetadataCache} finds it, and at most {@code queryengine.metrics.max-table-tags} tables
+ * are; unknown tables and tables past the limit are tagged {@code other}, which keeps the number of
+ * series bounded.
+ * Stage timings and row counts are also added to the thread's {@link QueryTrace}, if any.
+ */
+@Component
+public class QueryEngineMetrics {
+
+    public enum Stage {
+        RESOLVE("resolve"),
+        PARSE("parse"),
+        VALIDATE("validate"),
+        COMPILE("compile"),
+        BIND("bind"),
+        RENDER("render"),
+        EXECUTE("execute"),
+        INTO_MAPS("into_maps");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    private static final String OTHER_TABLE = "other";
+
+    private final MeterRegistry registry;
+    private final TableMetadataCache tableMetadataCache;
+    private final int maxTableTags;
+    private final Set<String> taggedTables = ConcurrentHashMap.newKeySet();
+    // Recently rejected names, so that a request for an unknown table does not look it up at every stage
+    private final BoundedCache<String, Boolean> untaggedTables = new BoundedCache<>(1000, Duration.ofMinutes(1));
+    private final Map<StageKey, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> operatorCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> byteSummaries = new ConcurrentHashMap<>();
+
+    public QueryEngineMetrics(MeterRegistry registry, TableMetadataCache tableMetadataCache,
+                              @Value("${queryengine.metrics.max-table-tags:100}") int maxTableTags) {
+        this.registry = registry;
+        this.tableMetadataCache = tableMetadataCache;
+        this.maxTableTags = maxTableTags;
+    }
+
+    /**
+     * Runs the action and records its duration, whether it completes or throws.
+     */
+    public <T> T time(Stage stage, String tableName, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            stageTimer(stage, tableName).record(elapsed, TimeUnit.NANOSECONDS);
+            QueryTrace trace = QueryTrace.current();
+            if (trace != null) {
+                trace.addStage(stage, elapsed);
+            }
+        }
+    }
+
+    /**
+     * Returns a context over the same request and date whose placeholder resolutions are timed.
+     * Memoized placeholders are not resolved again, so each is recorded once.
+     */
+    public EvaluationContext timeResolution(EvaluationContext context, String tableName) {
+        return new EvaluationContext(context.getRequest(), context.getToday(),
+                (placeholder, timedContext) -> time(Stage.RESOLVE, tableName,
+                        () -> context.getPlaceholderResolver().apply(placeholder, timedContext)));
+    }
+
+    public void countOperators(QueryPlan plan) {
+        for (String operatorName : plan.getOperatorNames()) {
+            operatorCounters.computeIfAbsent(operatorName, name -> Counter.builder("queryengine.operator.usage")
+                    .description("Operator occurrences in executed queries")
+                    .tag("operator", name)
+                    .register(registry)).increment();
+        }
+    }
+
+    public void recordRows(String tableName, long rows) {
+        rowSummaries.computeIfAbsent(tableTag(tableName), table -> DistributionSummary.builder("queryengine.rows")
+                .description("Rows returned per query")
+                .baseUnit("rows")
+                .tag("table", table)
+                .register(registry)).record(rows);
+        QueryTrace trace = QueryTrace.current();
+        if (trace != null) {
+            trace.addRows(rows);
+        }
+    }
+
+    public void recordBytes(String tableName, long bytes) {
+        byteSummaries.computeIfAbsent(tableTag(tableName), table -> DistributionSummary.builder("queryengine.serialized.bytes")
+                .description("Bytes serialized per streamed response")
+                .baseUnit("bytes")
+                .tag("table", table)
+                .register(registry)).record(bytes);
+    }
+
+    private Timer stageTimer(Stage stage, String tableName) {
+        return stageTimers.computeIfAbsent(new StageKey(stage, tableTag(tableName)), key -> Timer.builder("queryengine.stage")
+                .description("Time spent per query pipeline stage")
+                .tag("stage", key.stage().tag)
+                .tag("table", key.table())
+                .register(registry));
+    }
+
+    private String tableTag(String tableName) {
+        if (tableName == null || tableName.isBlank()) {
+            return "none";
+        }
+        String table = tableName.trim().toLowerCase(Locale.ROOT);
+        if (taggedTables.contains(table)) {
+            return table;
+        }
+        if (untaggedTables.get(table) != null) {
+            return OTHER_TABLE;
+        }
+        // Concurrent first uses may overshoot the limit by a few tables
+        if (taggedTables.size() < maxTableTags && tableMetadataCache.exists(table)) {
+            taggedTables.add(table);
+            return table;
+        }
+        untaggedTables.put(table, Boolean.TRUE);
+        return OTHER_TABLE;
+    }
+
+    private record StageKey(Stage stage, String table) {
+    }
+}
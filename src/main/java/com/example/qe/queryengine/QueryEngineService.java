@@ -1,20 +1,58 @@
 package com.example.qe.queryengine;
 
+import com.example.qe.queryengine.QueryEngineMetrics.Stage;
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.helper.BoundedCache;
+import com.example.qe.queryengine.helper.CountingOutputStream;
+import com.example.qe.queryengine.helper.KeysetPagination;
+import com.example.qe.queryengine.helper.NdjsonWriter;
+import com.example.qe.queryengine.helper.PortableSql;
+import com.example.qe.queryengine.helper.SharedScan;
+import com.example.qe.queryengine.helper.SingleFlight;
 import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.plan.ConstantConditions;
+import com.example.qe.queryengine.plan.QueryPlan;
+import com.example.qe.queryengine.plan.QueryPlanCache;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import com.example.qe.queryengine.plan.RowAccessor;
+import com.example.qe.queryengine.plan.RowPredicateCompiler;
+import com.example.qe.queryengine.query.BatchQueryResultDto;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.Query;
 import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.query.QueryPageDto;
+import com.example.qe.queryengine.query.SlowQueryEntryDto;
 import com.example.qe.queryengine.replaceable.ReplaceableResolver;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.Field;
+import org.jooq.QueryPart;
 import org.jooq.DSLContext;
+import org.jooq.DataType;
 import org.jooq.Record;
 import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.Select;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.SelectSelectStep;
+import org.jooq.SortField;
+import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 public class QueryEngineService {
@@ -27,32 +65,401 @@ public class QueryEngineService {
     @Autowired
     ReplaceableResolver replaceableResolver;
 
+    @Autowired
+    QueryPlanCompiler queryPlanCompiler;
+
+    @Autowired
+    QueryPlanCache queryPlanCache;
+
+    @Autowired
+    RowPredicateCompiler rowPredicateCompiler;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TableMetadataCache tableMetadataCache;
+
+    @Autowired
+    QueryResultCache queryResultCache;
+
+    @Autowired
+    BatchQueryExecutor batchQueryExecutor;
+
+    @Autowired
+    QueryEngineMetrics metrics;
+
+    @Autowired
+    SlowQueryLog slowQueryLog;
+
+    @Value("${queryengine.streaming.fetch-size:1000}")
+    int streamingFetchSize;
+
+    @Value("${queryengine.count.use-count-big:true}")
+    boolean useCountBig;
+
+    @Value("${queryengine.single-flight.enabled:true}")
+    boolean singleFlightEnabled;
+
+    @Value("${queryengine.batch.scan-sharing.enabled:false}")
+    boolean scanSharingEnabled;
+
+    @Value("${queryengine.batch.scan-sharing.max-binds:2000}")
+    int scanSharingMaxBinds;
+
+    private final SingleFlight<FlightKey, Object> singleFlight = new SingleFlight<>();
+
     public QueryEngineService(DSLContext dsl) {
         this.dsl = dsl;
     }
 
+    /**
+     * Returns the matching rows. Results shared through the result cache or single-flight are copied,
+     * so the caller may modify the returned result.
+     */
     public Result<Record> executeQuery(QueryContextDto context) {
-        String replacedJson = replaceableResolver.processJsonPlaceholders(context);
-        Condition condition = conditionParser.parseJsonToCondition(replacedJson);
+        try (QueryTrace trace = slowQueryLog.start("executeQuery", context)) {
+            Condition condition = toCondition(context);
+            if (ConstantConditions.isFalse(condition)) {
+                return dsl.newResult();
+            }
 
-//        System.out.println(dsl.renderInlined(dsl.select().from(context.getTableName()).where(condition)));
-        return dsl.select()
-                .from(context.getTableName())
-                .where(condition)
-                .fetch();
+            ResultQuery<Record> query = select(context, context.getColumns())
+                    .from(context.getTableName())
+                    .where(condition);
+            Result<Record> result = fetch(context, query, query::fetch);
+            metrics.recordRows(context.getTableName(), result.size());
+            return singleFlightEnabled || queryResultCache.isEnabled() ? result.into(result.fields()) : result;
+        }
     }
 
-    public List<Map<String, Object>> executeQueryToDisplay(QueryContextDto context)  {
-        String replacedJson = replaceableResolver.processJsonPlaceholders(context);
-        Condition condition = conditionParser.parseJsonToCondition(replacedJson);
+    public List<Map<String, Object>> executeQueryToDisplay(QueryContextDto context) {
+        try (QueryTrace trace = slowQueryLog.start("executeQueryToDisplay", context)) {
+            Condition condition = toCondition(context);
+            if (ConstantConditions.isFalse(condition)) {
+                // Folded run conditions can never match, so skip the database round trip
+                return List.of();
+            }
+
+            ResultQuery<Record> query = select(context, context.getColumns())
+                    .from(context.getTableName())
+                    .where(condition);
+            Result<Record> result = fetch(context, query, query::fetch);
+
+            List<Map<String, Object>> rows = metrics.time(Stage.INTO_MAPS, context.getTableName(), result::intoMaps);
+            metrics.recordRows(context.getTableName(), rows.size());
+            return rows;
+        }
+    }
+
+    /**
+     * Runs independent queries in one call, concurrently on the bounded batch pool.
+     * Identical query JSON shares its compiled plan, and each result is keyed by the query's requestId.
+     * With scan sharing enabled, the filters on the same table are answered by a single shared scan.
+     */
+    public Map<String, BatchQueryResultDto> executeQueryBatch(List<QueryContextDto> contexts) {
+        if (!scanSharingEnabled) {
+            return batchQueryExecutor.execute(contexts, this::executeQueryToDisplay);
+        }
+        return batchQueryExecutor.executeGrouped(contexts,
+                context -> context.getTableName() == null
+                        ? "request:" + context.getRequestId()
+                        : "table:" + context.getTableName().toLowerCase(Locale.ROOT),
+                this::executeSharedScan);
+    }
+
+    /**
+     * Answers filters on the same table with one SELECT, flagging each row with the filters it matches
+     * and splitting the rows back per filter. Filters whose bind values would exceed the limit of one
+     * statement are spread over several scans. Filters that fail to compile or project are reported
+     * individually; contradictory filters are answered without touching the database.
+     */
+    private Map<String, BatchQueryResultDto> executeSharedScan(List<QueryContextDto> contexts) {
+        try (QueryTrace trace = slowQueryLog.start("executeQueryBatch", sharedScanContext(contexts))) {
+            Map<String, BatchQueryResultDto> results = new HashMap<>();
+            List<QueryContextDto> scanned = new ArrayList<>();
+            List<Condition> conditions = new ArrayList<>();
+            List<List<String>> columnsPerFilter = new ArrayList<>();
+            Map<String, Field<?>> projection = new LinkedHashMap<>();
+            boolean allColumns = false;
+
+            for (QueryContextDto context : contexts) {
+                try {
+                    Condition condition = toCondition(context);
+                    if (ConstantConditions.isFalse(condition)) {
+                        results.put(context.getRequestId(), BatchQueryResultDto.builder().rows(List.of()).build());
+                        continue;
+                    }
+                    List<String> columns = null;
+                    if (context.getColumns() != null && !context.getColumns().isEmpty()) {
+                        List<Field<?>> fields = tableMetadataCache.resolveColumns(context.getTableName(), context.getColumns());
+                        columns = fields.stream().map(Field::getName).toList();
+                        fields.forEach(field -> projection.putIfAbsent(field.getName(), field));
+                    } else {
+                        allColumns = true;
+                    }
+                    scanned.add(context);
+                    conditions.add(condition);
+                    columnsPerFilter.add(columns);
+                } catch (RuntimeException e) {
+                    // Parsing and validation throw several unrelated exception types; none should fail the other filters
+                    results.put(context.getRequestId(), BatchQueryResultDto.builder().error(e.getMessage()).build());
+                }
+            }
+            if (scanned.isEmpty()) {
+                return results;
+            }
+
+            List<? extends SelectFieldOrAsterisk> select = allColumns ? List.of(DSL.asterisk()) : new ArrayList<>(projection.values());
+            for (List<Integer> group : SharedScan.partition(dsl, conditions, scanSharingMaxBinds)) {
+                List<QueryContextDto> groupContexts = group.stream().map(scanned::get).toList();
+                List<List<String>> groupColumns = group.stream().map(columnsPerFilter::get).toList();
+                ResultQuery<Record> query = SharedScan.query(dsl, groupContexts.get(0).getTableName(), select,
+                        group.stream().map(conditions::get).toList());
+                Result<Record> result = fetch(groupContexts.get(0), query, query::fetch);
+                List<List<Map<String, Object>>> rowsPerFilter = metrics.time(Stage.INTO_MAPS, groupContexts.get(0).getTableName(),
+                        () -> SharedScan.demultiplex(result, groupColumns));
+                for (int i = 0; i < groupContexts.size(); i++) {
+                    metrics.recordRows(groupContexts.get(i).getTableName(), rowsPerFilter.get(i).size());
+                    results.put(groupContexts.get(i).getRequestId(), BatchQueryResultDto.builder().rows(rowsPerFilter.get(i)).build());
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Counts the matching rows without fetching them. Uses COUNT_BIG(*) on SQL Server,
+     * where COUNT(*) returns an int that overflows on very large tables.
+     */
+    public long executeQueryCount(QueryContextDto context) {
+        try (QueryTrace trace = slowQueryLog.start("executeQueryCount", context)) {
+            Condition condition = toCondition(context);
+            if (ConstantConditions.isFalse(condition)) {
+                return 0L;
+            }
+
+            Field<? extends Number> count = useCountBig ? DSL.field("count_big(*)", Long.class) : DSL.count();
+            ResultQuery<? extends Record> query = dsl.select(count)
+                    .from(context.getTableName())
+                    .where(condition);
+            Long result = fetch(context, query, () -> query.fetchOne(0, Long.class));
+            return result == null ? 0L : result;
+        }
+    }
 
-//        System.out.println(dsl.renderInlined(dsl.select().from(context.getTableName()).where(condition)));
-        Result<Record> result = dsl.select()
+    /**
+     * Checks whether any row matches; the database stops at the first match.
+     */
+    public boolean executeQueryExists(QueryContextDto context) {
+        try (QueryTrace trace = slowQueryLog.start("executeQueryExists", context)) {
+            Condition condition = toCondition(context);
+            if (ConstantConditions.isFalse(condition)) {
+                return false;
+            }
+
+            Select<?> matches = dsl.selectOne()
+                    .from(context.getTableName())
+                    .where(condition);
+            return fetch(context, DSL.exists(matches), () -> PortableSql.exists(dsl, matches));
+        }
+    }
+
+    /**
+     * Returns one page of rows using keyset pagination: the query is ordered by the requested sort
+     * columns and seeks past the last row of the previous page, so every page costs the same.
+     */
+    public QueryPageDto executeQueryPage(QueryContextDto context) {
+        try (QueryTrace trace = slowQueryLog.start("executeQueryPage", context)) {
+            if (context.getPageSize() == null || context.getPageSize() <= 0) {
+                throw new QueryEngineException("Page size must be a positive number");
+            }
+            List<SortField<Object>> sortFields = KeysetPagination.toSortFields(context.getSort());
+            Object[] seekValues = KeysetPagination.decodeToken(context.getContinuationToken(), context.getSort());
+
+            Condition condition = toCondition(context);
+            if (ConstantConditions.isFalse(condition)) {
+                return new QueryPageDto(List.of(), null);
+            }
+
+            if (seekValues != null) {
+                List<DataType<?>> sortTypes = tableMetadataCache.resolveDataTypes(context.getTableName(),
+                        sortFields.stream().map(SortField::getName).toList());
+                Condition seek = KeysetPagination.seekCondition(sortFields, sortTypes, seekValues);
+                condition = ConstantConditions.isTrue(condition) ? seek : condition.and(seek);
+            }
+
+            // The token is built from the last row's sort values, so sort columns are always selected
+            List<String> columns = context.getColumns();
+            if (columns != null && !columns.isEmpty()) {
+                columns = new ArrayList<>(columns);
+                for (SortField<Object> sortField : sortFields) {
+                    if (columns.stream().noneMatch(sortField.getName()::equalsIgnoreCase)) {
+                        columns.add(sortField.getName());
+                    }
+                }
+            }
+            Select<Record> ordered = select(context, columns)
+                    .from(context.getTableName())
+                    .where(condition)
+                    .orderBy(sortFields);
+            // Fetch one extra row to learn whether another page follows
+            int pageSize = context.getPageSize();
+            ResultQuery<Record> query = PortableSql.fetchFirst(dsl, ordered, pageSize + 1);
+            Result<Record> result = fetch(context, query, query::fetch);
+
+            if (result.size() <= pageSize) {
+                metrics.recordRows(context.getTableName(), result.size());
+                return new QueryPageDto(metrics.time(Stage.INTO_MAPS, context.getTableName(), result::intoMaps), null);
+            }
+            Result<Record> page = dsl.newResult(result.fields());
+            page.addAll(result.subList(0, pageSize));
+            String token = KeysetPagination.encodeToken(context.getSort(), sortFields, page.get(pageSize - 1));
+            metrics.recordRows(context.getTableName(), pageSize);
+            return new QueryPageDto(metrics.time(Stage.INTO_MAPS, context.getTableName(), page::intoMaps), token);
+        }
+    }
+
+    /**
+     * Streams the matching rows as NDJSON through a server-side cursor instead of materializing them.
+     * The query is parsed, bound and projected before returning, so invalid queries fail before the response starts.
+     */
+    public StreamingResponseBody executeQueryToStream(QueryContextDto context) {
+        Condition condition = toCondition(context);
+        if (ConstantConditions.isFalse(condition)) {
+            return out -> {};
+        }
+
+        ResultQuery<Record> query = select(context, context.getColumns())
                 .from(context.getTableName())
                 .where(condition)
-                .fetch();
+                .fetchSize(streamingFetchSize);
+        String tableName = context.getTableName();
+        return out -> {
+            CountingOutputStream counted = new CountingOutputStream(out);
+            // Traced on the thread writing the response, where the query actually runs
+            try (QueryTrace trace = slowQueryLog.start("executeQueryToStream", context);
+                 Cursor<Record> cursor = query.fetchLazy()) {
+                if (trace.isRecording()) {
+                    trace.setStatement(dsl.render(query), dsl.extractBindValues(query));
+                }
+                metrics.recordRows(tableName, NdjsonWriter.write(cursor, counted, objectMapper));
+            }
+            metrics.recordBytes(tableName, counted.getCount());
+        };
+    }
+
+    /**
+     * Serves the fetch from the result cache when enabled; otherwise runs it, or waits for an identical
+     * one already in flight (same SQL text and bind values) and shares its result, so bursts of the
+     * same saved filter reach the database once. Shared results must be treated as read-only.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T fetch(QueryContextDto context, QueryPart query, Supplier<T> fetch) {
+        String tableName = context.getTableName();
+        FlightKey key = metrics.time(Stage.RENDER, tableName,
+                () -> new FlightKey(dsl.render(query), dsl.extractBindValues(query)));
+        QueryTrace trace = QueryTrace.current();
+        if (trace != null) {
+            trace.setStatement(key.sql(), key.bindValues());
+        }
+        Supplier<T> execute = () -> metrics.time(Stage.EXECUTE, tableName, fetch);
+        Supplier<T> coalesced = singleFlightEnabled
+                ? () -> (T) singleFlight.execute(key, execute)
+                : execute;
+        return queryResultCache.getOrLoad(tableName, key.sql(), key.bindValues(), coalesced);
+    }
+
+    private record FlightKey(String sql, List<Object> bindValues) {
+    }
+
+    /**
+     * Identifies a shared scan in the slow query log by its table and the request ids of its filters.
+     */
+    private static QueryContextDto sharedScanContext(List<QueryContextDto> contexts) {
+        return QueryContextDto.builder()
+                .tableName(contexts.get(0).getTableName())
+                .requestId(String.join(",", contexts.stream().map(QueryContextDto::getRequestId).toList()))
+                .build();
+    }
+
+    /**
+     * Selects only the requested columns, validated against the table's metadata, or every column
+     * when no projection is given.
+     */
+    private SelectSelectStep<Record> select(QueryContextDto context, List<String> columns) {
+        if (columns == null || columns.isEmpty()) {
+            return dsl.select();
+        }
+        return dsl.select(tableMetadataCache.resolveColumns(context.getTableName(), columns));
+    }
+
+    public BoundedCache.Stats getPlanCacheStats() {
+        return queryPlanCache.stats();
+    }
+
+    public BoundedCache.Stats getResultCacheStats() {
+        return queryResultCache.stats();
+    }
+
+    public List<SlowQueryEntryDto> getSlowQueries() {
+        return slowQueryLog.entries();
+    }
+
+    public void clearSlowQueries() {
+        slowQueryLog.clear();
+    }
+
+    /**
+     * Drops cached results for the table, or for every table when no name is given.
+     */
+    public void invalidateResultCache(String tableName) {
+        if (tableName == null || tableName.isBlank()) {
+            queryResultCache.invalidateAll();
+        } else {
+            queryResultCache.invalidateTable(tableName);
+        }
+    }
+
+    /**
+     * Reuses the cached plan for the query JSON and binds it with this request's evaluation context,
+     * which resolves each placeholder once and fixes the current date for the whole request.
+     * With the plan cache disabled, placeholders are resolved while parsing instead.
+     */
+    private Condition toCondition(QueryContextDto context) {
+        EvaluationContext evaluationContext = evaluationContext(context);
+        QueryPlan plan = plan(context, evaluationContext);
+        metrics.countOperators(plan);
+        return metrics.time(Stage.BIND, context.getTableName(), () -> plan.bind(evaluationContext));
+    }
+
+    /**
+     * Compiles the request's query into an in-memory filter over rows keyed by column name, such as
+     * cached results or message payloads. Placeholders and the current date are bound once here,
+     * so the returned predicate can be applied to any number of rows.
+     */
+    public Predicate<Map<String, ?>> toRowPredicate(QueryContextDto context) {
+        EvaluationContext evaluationContext = evaluationContext(context);
+        return rowPredicateCompiler.compile(plan(context, evaluationContext), RowAccessor.ofMap(), evaluationContext);
+    }
+
+    private EvaluationContext evaluationContext(QueryContextDto context) {
+        return metrics.timeResolution(replaceableResolver.createEvaluationContext(context), context.getTableName());
+    }
+
+    private QueryPlan plan(QueryContextDto context, EvaluationContext evaluationContext) {
+        String tableName = context.getTableName();
+        if (!queryPlanCache.isEnabled()) {
+            return compile(metrics.time(Stage.PARSE, tableName,
+                    () -> conditionParser.readQuery(replaceableResolver.createResolvingParser(evaluationContext))), tableName);
+        }
+        return queryPlanCache.getOrCompile(context.getJson(),
+                json -> compile(metrics.time(Stage.PARSE, tableName, () -> conditionParser.readQuery(json)), tableName));
+    }
 
-        return result.intoMaps();
+    private QueryPlan compile(Query query, String tableName) {
+        metrics.time(Stage.VALIDATE, tableName, () -> conditionParser.validate(query));
+        return metrics.time(Stage.COMPILE, tableName, () -> queryPlanCompiler.compile(query));
     }
 
 //    public List<Map<String, Object>> testStringJsonInput(String jsonInput) throws JsonProcessingException {
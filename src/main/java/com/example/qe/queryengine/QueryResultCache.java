@@ -0,0 +1,119 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.helper.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Optional cache of query results keyed by table, rendered SQL (condition and projection) and bind values.
+ * Entries expire after a per-table TTL and can be dropped per table by write paths that modify it.
+ * Tables are keyed by {@link TableMetadataCache#tableKey}, so "dbo.Orders" and "orders" share TTL and invalidation.
+ * Cached results are shared between callers and must be treated as read-only.
+ */
+@Component
+public class QueryResultCache {
+
+    private record Key(String table, String sql, List<Object> bindValues) {
+    }
+
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> tableTtls;
+    private final BoundedCache<Key, Object> cache;
+    // Bumped on invalidation so a load that started before it does not store a stale result
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public QueryResultCache(@Value("${queryengine.result-cache.enabled:false}") boolean enabled,
+                            @Value("${queryengine.result-cache.max-size:500}") int maxSize,
+                            @Value("${queryengine.result-cache.ttl:1m}") Duration defaultTtl,
+                            @Value("${queryengine.result-cache.table-ttls:}") String tableTtls) {
+        this.enabled = enabled;
+        this.defaultTtl = defaultTtl;
+        this.tableTtls = parseTableTtls(tableTtls);
+        this.cache = new BoundedCache<>(maxSize, defaultTtl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached result for the query or loads and caches it. Tables configured with a zero TTL are never cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrLoad(String tableName, String sql, List<Object> bindValues, Supplier<T> loader) {
+        String table = normalize(tableName);
+        Duration ttl = tableTtls.getOrDefault(table, defaultTtl);
+        if (!enabled || ttl.isZero() || ttl.isNegative()) {
+            return loader.get();
+        }
+
+        Key key = new Key(table, sql, bindValues);
+        Object cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        AtomicLong generation = generations.computeIfAbsent(table, k -> new AtomicLong());
+        long before = generation.get();
+        T value = loader.get();
+        if (generation.get() == before) {
+            cache.put(key, value, ttl);
+            // An invalidation between the check and the put may have cleared the table before the
+            // entry landed; it bumps the generation first, so re-checking catches it
+            if (generation.get() != before) {
+                cache.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops every cached result for the table. Call this after writing to it.
+     */
+    public int invalidateTable(String tableName) {
+        String table = normalize(tableName);
+        generations.computeIfAbsent(table, k -> new AtomicLong()).incrementAndGet();
+        return cache.invalidateIf(key -> key.table().equals(table));
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Parses "table=ttl" pairs separated by commas, e.g. "Currency=1h,Country=6h,Trade=0s".
+     */
+    static Map<String, Duration> parseTableTtls(String tableTtls) {
+        Map<String, Duration> ttls = new HashMap<>();
+        if (tableTtls == null || tableTtls.isBlank()) {
+            return ttls;
+        }
+        for (String entry : tableTtls.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalArgumentException("Invalid result cache TTL entry: " + entry);
+            }
+            ttls.put(normalize(parts[0]), DurationStyle.detectAndParse(parts[1].trim()));
+        }
+        return ttls;
+    }
+
+    private static String normalize(String tableName) {
+        return TableMetadataCache.tableKey(tableName);
+    }
+}
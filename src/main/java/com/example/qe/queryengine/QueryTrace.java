@@ -0,0 +1,87 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.QueryEngineMetrics.Stage;
+import com.example.qe.queryengine.query.QueryContextDto;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * What one query execution did, collected on the executing thread for the {@link SlowQueryLog}:
+ * while the trace is current, {@link QueryEngineMetrics} adds stage timings and row counts to it and
+ * the service the statement it sent. Closing the trace detaches it and hands it to the log.
+ */
+@Getter
+public final class QueryTrace implements AutoCloseable {
+
+    /**
+     * Returned when tracing is off or a trace is already running on the thread; records nothing.
+     */
+    static final QueryTrace NONE = new QueryTrace(null, null, null);
+
+    private static final ThreadLocal<QueryTrace> CURRENT = new ThreadLocal<>();
+
+    private final String operation;
+    private final QueryContextDto context;
+    private final Consumer<QueryTrace> onClose;
+    private final long startNanos = System.nanoTime();
+    private final long[] stageNanos = new long[Stage.values().length];
+    private long elapsedNanos;
+    private String sql;
+    private List<Object> bindValues;
+    // -1 until rows are recorded
+    private long rows = -1;
+
+    private QueryTrace(String operation, QueryContextDto context, Consumer<QueryTrace> onClose) {
+        this.operation = operation;
+        this.context = context;
+        this.onClose = onClose;
+    }
+
+    static QueryTrace start(String operation, QueryContextDto context, Consumer<QueryTrace> onClose) {
+        QueryTrace trace = new QueryTrace(operation, context, onClose);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * The trace running on this thread, or null.
+     */
+    public static QueryTrace current() {
+        return CURRENT.get();
+    }
+
+    public boolean isRecording() {
+        return this != NONE;
+    }
+
+    public void addStage(Stage stage, long nanos) {
+        if (isRecording()) {
+            stageNanos[stage.ordinal()] += nanos;
+        }
+    }
+
+    public void addRows(long count) {
+        if (isRecording()) {
+            rows = Math.max(rows, 0) + count;
+        }
+    }
+
+    public void setStatement(String sql, List<Object> bindValues) {
+        if (isRecording()) {
+            this.sql = sql;
+            this.bindValues = bindValues;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!isRecording()) {
+            return;
+        }
+        elapsedNanos = System.nanoTime() - startNanos;
+        CURRENT.remove();
+        onClose.accept(this);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.QueryEngineMetrics.Stage;
+import com.example.qe.queryengine.plan.QueryPlanCache;
+import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.query.SlowQueryEntryDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the most recent slow queries in a fixed-size ring buffer, so pathological rules can be found
+ * in production without debug logging. A query is slow when it takes at least the latency threshold
+ * or returns at least the row threshold. Only slow queries pay for building an entry; the query JSON
+ * is kept as a hash, and bind values are redacted according to the configured rule.
+ */
+@Component
+public class SlowQueryLog {
+
+    public enum BindRedaction {
+        // Keep all bind values
+        NONE,
+        // Mask text values, which may carry personal data; numbers, dates and booleans are kept
+        STRINGS,
+        // Mask every bind value
+        ALL
+    }
+
+    static final String REDACTED = "***";
+
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final long rowThreshold;
+    private final BindRedaction redaction;
+
+    // Guarded by this; next is the slot the next entry overwrites
+    private final SlowQueryEntryDto[] entries;
+    private int next;
+    private int size;
+
+    public SlowQueryLog(@Value("${queryengine.slow-query.enabled:true}") boolean enabled,
+                        @Value("${queryengine.slow-query.threshold:1s}") Duration threshold,
+                        @Value("${queryengine.slow-query.row-threshold:10000}") long rowThreshold,
+                        @Value("${queryengine.slow-query.capacity:100}") int capacity,
+                        @Value("${queryengine.slow-query.redaction:STRINGS}") BindRedaction redaction) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Slow query log capacity must be positive");
+        }
+        this.enabled = enabled;
+        this.thresholdNanos = threshold.toNanos();
+        this.rowThreshold = rowThreshold;
+        this.redaction = redaction;
+        this.entries = new SlowQueryEntryDto[capacity];
+    }
+
+    /**
+     * Starts tracing a query on the current thread; close the trace when the query is done.
+     * A query run from within another traced one is part of the outer trace.
+     */
+    public QueryTrace start(String operation, QueryContextDto context) {
+        if (!enabled || QueryTrace.current() != null) {
+            return QueryTrace.NONE;
+        }
+        return QueryTrace.start(operation, context, this::finish);
+    }
+
+    /**
+     * The recorded slow queries, most recent first.
+     */
+    public synchronized List<SlowQueryEntryDto> entries() {
+        List<SlowQueryEntryDto> recent = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            recent.add(entries[Math.floorMod(next - i, entries.length)]);
+        }
+        return recent;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+    }
+
+    private void finish(QueryTrace trace) {
+        boolean slow = trace.getElapsedNanos() >= thresholdNanos
+                || rowThreshold > 0 && trace.getRows() >= rowThreshold;
+        if (slow) {
+            add(toEntry(trace));
+        }
+    }
+
+    private synchronized void add(SlowQueryEntryDto entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        size = Math.min(size + 1, entries.length);
+    }
+
+    private SlowQueryEntryDto toEntry(QueryTrace trace) {
+        QueryContextDto context = trace.getContext();
+        Map<String, Double> stageMillis = new LinkedHashMap<>();
+        for (Stage stage : Stage.values()) {
+            long nanos = trace.getStageNanos()[stage.ordinal()];
+            if (nanos > 0) {
+                stageMillis.put(stage.getTag(), millis(nanos));
+            }
+        }
+        return SlowQueryEntryDto.builder()
+                .recordedAt(Instant.now())
+                .operation(trace.getOperation())
+                .requestId(context.getRequestId())
+                .tableName(context.getTableName())
+                .queryHash(hash(context.getJson()))
+                .sql(trace.getSql())
+                .bindValues(redact(trace.getBindValues()))
+                .rows(trace.getRows() < 0 ? null : trace.getRows())
+                .elapsedMillis(millis(trace.getElapsedNanos()))
+                .stageMillis(stageMillis)
+                .build();
+    }
+
+    List<Object> redact(List<Object> bindValues) {
+        if (bindValues == null || redaction == BindRedaction.NONE) {
+            return bindValues;
+        }
+        List<Object> redacted = new ArrayList<>(bindValues.size());
+        for (Object value : bindValues) {
+            boolean masked = value != null && (redaction == BindRedaction.ALL || value instanceof CharSequence);
+            redacted.add(masked ? REDACTED : value);
+        }
+        return redacted;
+    }
+
+    /**
+     * First 16 hex digits of the SHA-256 of the whitespace-normalized JSON, as used for the plan cache key,
+     * so the same rule hashes the same however it is formatted.
+     */
+    static String hash(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(QueryPlanCache.normalize(json).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.helper.BoundedCache;
+import org.jooq.DSLContext;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Column names and types per table read from the database metadata, cached so that validating a projection
+ * does not cost a metadata round trip per request. Lookups ignore case, like SQL Server does.
+ */
+@Component
+public class TableMetadataCache {
+
+    private final DSLContext dsl;
+    private final BoundedCache<String, Map<String, Field<?>>> columnsByTable;
+
+    public TableMetadataCache(DSLContext dsl,
+                              @Value("${queryengine.table-metadata.max-size:500}") int maxSize,
+                              @Value("${queryengine.table-metadata.ttl:1h}") Duration ttl) {
+        this.dsl = dsl;
+        this.columnsByTable = new BoundedCache<>(maxSize, ttl);
+    }
+
+    /**
+     * Resolves the requested columns against the table's metadata and returns them as fields named
+     * exactly as the database reports them.
+     */
+    public List<Field<?>> resolveColumns(String tableName, List<String> columns) {
+        List<Field<?>> fields = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            fields.add(DSL.field(DSL.name(lookup(tableName, column).getName())));
+        }
+        return fields;
+    }
+
+    /**
+     * Resolves the requested columns like {@link #resolveColumns} and returns their data types as
+     * reported by the database, for converting values that arrive untyped (e.g. from JSON).
+     */
+    public List<DataType<?>> resolveDataTypes(String tableName, List<String> columns) {
+        List<DataType<?>> dataTypes = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            dataTypes.add(lookup(tableName, column).getDataType());
+        }
+        return dataTypes;
+    }
+
+    /**
+     * Whether the table exists, loading and caching its metadata if it is not cached yet.
+     * Returns false rather than throwing when the table is unknown or cannot be looked up.
+     */
+    public boolean exists(String tableName) {
+        if (tableName == null || tableName.isBlank()) {
+            return false;
+        }
+        try {
+            columnsByTable.getOrLoad(normalize(tableName), key -> loadColumns(tableName));
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public void invalidateAll() {
+        columnsByTable.invalidateAll();
+    }
+
+    /**
+     * The table name without schema prefix or quoting, in lower case, e.g. "orders" for "dbo.[Orders]",
+     * so that every way a request can name a table maps to the same key.
+     */
+    public static String tableKey(String tableName) {
+        if (tableName == null) {
+            return "";
+        }
+        String[] parts = tableName.split("\\.");
+        String table = parts.length == 0 ? "" : parts[parts.length - 1];
+        return table.replaceAll("[\\[\\]\"]", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Field<?> lookup(String tableName, String column) {
+        Map<String, Field<?>> knownColumns = columnsByTable.getOrLoad(normalize(tableName), key -> loadColumns(tableName));
+        Field<?> field = column == null ? null : knownColumns.get(normalize(column));
+        if (field == null) {
+            throw new QueryEngineException("Unknown column " + column + " for table " + tableName);
+        }
+        return field;
+    }
+
+    private Map<String, Field<?>> loadColumns(String tableName) {
+        String[] parts = tableName.split("\\.");
+        String table = parts[parts.length - 1];
+        String schema = parts.length > 1 ? parts[parts.length - 2] : null;
+
+        List<Table<?>> candidates = dsl.meta().getTables(table);
+        if (candidates.isEmpty()) {
+            candidates = dsl.meta().getTables().stream()
+                    .filter(t -> t.getName().equalsIgnoreCase(table))
+                    .toList();
+        }
+        Table<?> match = candidates.stream()
+                .filter(t -> schema == null || (t.getSchema() != null && t.getSchema().getName().equalsIgnoreCase(schema)))
+                .findFirst()
+                .orElseThrow(() -> new QueryEngineException("Unknown table: " + tableName));
+
+        Map<String, Field<?>> columns = new LinkedHashMap<>();
+        for (Field<?> field : match.fields()) {
+            columns.put(normalize(field.getName()), field);
+        }
+        return columns;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.qe.queryengine.helper;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.plan.ConstantConditions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.jooq.Condition;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SortField;
+import org.jooq.SortOrder;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sort parsing and continuation tokens for keyset (seek) pagination. A token carries the sort
+ * values of the last row of a page, so the next page starts with a seek predicate such as
+ * {@code a > ? OR (a = ? AND b > ?)} instead of skipping rows with OFFSET. The predicate is expanded
+ * rather than written as a row value comparison, which SQL Server does not support.
+ * <p>
+ * NULL sort values are ordered as SQL Server orders them: lowest, so first when ascending and last
+ * when descending.
+ */
+public class KeysetPagination {
+
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private KeysetPagination() {}
+
+    /**
+     * Parses sort entries of the form "column" or "column DESC" (ASC is the default).
+     */
+    public static List<SortField<Object>> toSortFields(List<String> sort) {
+        if (sort == null || sort.isEmpty()) {
+            throw new QueryEngineException("Paged queries require at least one sort column");
+        }
+        List<SortField<Object>> sortFields = new ArrayList<>(sort.size());
+        for (String entry : sort) {
+            String[] parts = entry == null ? new String[0] : entry.trim().split("\\s+");
+            if (parts.length == 0 || parts.length > 2 || !COLUMN_NAME.matcher(parts[0]).matches()) {
+                throw new QueryEngineException("Invalid sort entry: " + entry);
+            }
+            Field<Object> field = DSL.field(DSL.unquotedName(parts[0]));
+            if (parts.length == 1 || parts[1].equalsIgnoreCase("ASC")) {
+                sortFields.add(field.asc());
+            } else if (parts[1].equalsIgnoreCase("DESC")) {
+                sortFields.add(field.desc());
+            } else {
+                throw new QueryEngineException("Invalid sort direction in: " + entry);
+            }
+        }
+        return sortFields;
+    }
+
+    /**
+     * Builds the token pointing after the given row. The sort spec is embedded so a token
+     * cannot be replayed against a differently sorted query.
+     */
+    public static String encodeToken(List<String> sort, List<SortField<Object>> sortFields, Record lastRow) {
+        List<Object> values = new ArrayList<>(sortFields.size());
+        for (SortField<Object> sortField : sortFields) {
+            values.add(toTokenValue(lastRow.get(indexOf(lastRow, sortField.getName()))));
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Map.of("sort", String.join(",", sort), "after", values));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new QueryEngineException("Unable to create continuation token", e);
+        }
+    }
+
+    /**
+     * Returns the seek values carried by the token, or null when no token is given (first page).
+     * The values are typed as JSON reads them; {@link #seekCondition} converts them to the column types.
+     */
+    public static Object[] decodeToken(String token, List<String> sort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        TokenContent content;
+        try {
+            content = objectMapper.readValue(Base64.getUrlDecoder().decode(token), TokenContent.class);
+        } catch (Exception e) {
+            throw new QueryEngineException("Invalid continuation token", e);
+        }
+        if (!String.join(",", sort).equals(content.sort()) || content.after() == null || content.after().size() != sort.size()) {
+            throw new QueryEngineException("Continuation token does not match the requested sort");
+        }
+        return content.after().toArray();
+    }
+
+    /**
+     * Builds the predicate selecting the rows after the seek values in the given sort order. The values
+     * are converted to the given column types first, so a date read back from a token as a string is
+     * bound as a date.
+     */
+    public static Condition seekCondition(List<SortField<Object>> sortFields, List<DataType<?>> dataTypes, Object[] seekValues) {
+        List<Condition> alternatives = new ArrayList<>(sortFields.size());
+        List<Condition> equalities = new ArrayList<>(sortFields.size());
+        for (int i = 0; i < sortFields.size(); i++) {
+            SortField<Object> sortField = sortFields.get(i);
+            Field<Object> field = DSL.field(DSL.unquotedName(sortField.getName()));
+            Object value = convert(dataTypes.get(i), seekValues[i], sortField.getName());
+            Condition after = after(field, sortField.getOrder() == SortOrder.DESC, value);
+            if (after != null) {
+                List<Condition> alternative = new ArrayList<>(equalities);
+                alternative.add(after);
+                alternatives.add(DSL.and(alternative));
+            }
+            equalities.add(value == null ? field.isNull() : field.eq(value));
+        }
+        return alternatives.isEmpty() ? ConstantConditions.of(false) : DSL.or(alternatives);
+    }
+
+    /**
+     * The rows ordered after the value on this column alone, or null when there are none: NULL is the
+     * lowest value, so nothing follows it in descending order.
+     */
+    private static Condition after(Field<Object> field, boolean descending, Object value) {
+        if (value == null) {
+            return descending ? null : field.isNotNull();
+        }
+        return descending ? field.lt(value).or(field.isNull()) : field.gt(value);
+    }
+
+    private static Object convert(DataType<?> dataType, Object value, String column) {
+        Object converted;
+        try {
+            converted = dataType.convert(value);
+        } catch (RuntimeException e) {
+            throw new QueryEngineException("Continuation token value for " + column + " does not match the column type", e);
+        }
+        // jOOQ converts unparseable strings to null, which would silently seek after NULL instead
+        if (converted == null && value != null) {
+            throw new QueryEngineException("Continuation token value for " + column + " does not match the column type");
+        }
+        return converted;
+    }
+
+    /**
+     * JDBC temporal values are written as their java.time equivalents, so the token holds plain ISO
+     * strings without a time zone shift.
+     */
+    private static Object toTokenValue(Object value) {
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof java.sql.Time time) {
+            return time.toLocalTime();
+        }
+        return value;
+    }
+
+    private static int indexOf(Record row, String column) {
+        Field<?>[] fields = row.fields();
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].getName().equalsIgnoreCase(column)) {
+                return i;
+            }
+        }
+        throw new QueryEngineException("Sort column " + column + " is not part of the result");
+    }
+
+    private record TokenContent(String sort, List<Object> after) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.qe.queryengine.helper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jooq.Cursor;
+import org.jooq.Field;
+import org.jooq.Record;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes records from a lazy jOOQ cursor as newline-delimited JSON, one object per row.
+ * Rows are serialized as they are fetched, so memory use does not grow with the result size.
+ */
+public class NdjsonWriter {
+
+    private NdjsonWriter() {}
+
+    /**
+     * Drains the cursor into the output stream and returns the number of rows written.
+     * The cursor is not closed; the caller owns it.
+     */
+    public static long write(Cursor<? extends Record> cursor, OutputStream out, ObjectMapper objectMapper) throws IOException {
+        long rows = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the explicit newline, not Jackson's default space between root values
+            generator.setRootValueSeparator(null);
+            Field<?>[] fields = cursor.fields();
+            for (Record record : cursor) {
+                generator.writeStartObject();
+                for (int i = 0; i < fields.length; i++) {
+                    generator.writeFieldName(fields[i].getName());
+                    generator.writeObject(record.get(i));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
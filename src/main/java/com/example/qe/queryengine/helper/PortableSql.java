@@ -0,0 +1,34 @@
+package com.example.qe.queryengine.helper;
+
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
+
+/**
+ * SQL fragments that jOOQ's DEFAULT dialect would otherwise render in a form SQL Server rejects,
+ * written in standard syntax that SQL Server 2012+ and H2 both accept.
+ */
+public class PortableSql {
+
+    private PortableSql() {}
+
+    /**
+     * Limits an ordered select with {@code OFFSET 0 ROWS FETCH NEXT n ROWS ONLY}, since the DEFAULT
+     * dialect renders {@code LIMIT}, which SQL Server does not support.
+     */
+    public static ResultQuery<Record> fetchFirst(DSLContext dsl, Select<Record> orderedSelect, int rows) {
+        return dsl.resultQuery("{0} offset 0 rows fetch next {1} rows only", orderedSelect, DSL.val(rows));
+    }
+
+    /**
+     * Checks whether the select returns any row, as {@code SELECT CASE WHEN EXISTS (...) THEN 1 ELSE 0 END},
+     * so the database can stop at the first match.
+     */
+    public static boolean exists(DSLContext dsl, Select<?> select) {
+        Integer found = dsl.select(DSL.when(DSL.exists(select), DSL.inline(1)).else_(DSL.inline(0)))
+                .fetchOne(0, Integer.class);
+        return found != null && found == 1;
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.qe.queryengine.helper;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Comparisons between raw row values and normalized query values for in-memory evaluation.
+ * Rows may come from JDBC, a cached result or a JSON payload, so a numeric column can hold an Integer,
+ * a date column a String or a timestamp, and so on; each value is converted to the query value's type,
+ * following the implicit conversions of the database. Null row values stand for SQL NULL and must be
+ * handled by the caller. String comparisons are ordinal, as with a binary collation; callers emulating
+ * a case-insensitive collation fold both sides with {@link #foldCase} first. A date-time row value is
+ * compared with a date at midnight, as the database does; only the date part operators truncate it.
+ */
+public final class RowValues {
+
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /**
+     * Up to this many values, a membership test compares against each value; larger lists are hashed.
+     */
+    private static final int LINEAR_MEMBERSHIP_LIMIT = 8;
+
+    private RowValues() {}
+
+    /**
+     * Returns a function comparing a non-null row value against the operand, negative when the row value
+     * is smaller. The operand's type is inspected once here rather than for every row.
+     */
+    public static ToIntFunction<Object> comparator(Object operand) {
+        if (operand instanceof BigDecimal decimal) {
+            return numberComparator(decimal);
+        }
+        if (operand instanceof LocalDate date) {
+            LocalDateTime midnight = date.atStartOfDay();
+            return fieldValue -> toLocalDateTime(fieldValue).compareTo(midnight);
+        }
+        if (operand instanceof Boolean bool) {
+            return fieldValue -> Boolean.compare(toBoolean(fieldValue), bool);
+        }
+        if (operand instanceof String text) {
+            return fieldValue -> toText(fieldValue).compareTo(text);
+        }
+        throw new InvalidQueryException("Unsupported value type for in-memory evaluation: "
+                + (operand == null ? "null" : operand.getClass().getName()));
+    }
+
+    /**
+     * Compares integral row values against an integral operand without converting them to BigDecimal.
+     */
+    private static ToIntFunction<Object> numberComparator(BigDecimal operand) {
+        boolean fitsLong = operand.signum() == 0
+                || operand.stripTrailingZeros().scale() <= 0
+                && operand.compareTo(LONG_MIN) >= 0 && operand.compareTo(LONG_MAX) <= 0;
+        long exact = fitsLong ? operand.longValue() : 0L;
+        return fieldValue -> {
+            if (fitsLong && isIntegral(fieldValue)) {
+                return Long.compare(((Number) fieldValue).longValue(), exact);
+            }
+            return toBigDecimal(fieldValue).compareTo(operand);
+        };
+    }
+
+    /**
+     * Returns a test for whether a non-null row value equals any of the (non-null) values.
+     */
+    public static Predicate<Object> membership(List<Object> values) {
+        if (values.size() <= LINEAR_MEMBERSHIP_LIMIT) {
+            @SuppressWarnings("unchecked")
+            ToIntFunction<Object>[] comparators = values.stream().map(RowValues::comparator).toArray(ToIntFunction[]::new);
+            return fieldValue -> {
+                for (ToIntFunction<Object> comparator : comparators) {
+                    if (comparator.applyAsInt(fieldValue) == 0) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        Class<?> type = values.get(0).getClass();
+        Set<Object> keys = new HashSet<>();
+        for (Object value : values) {
+            keys.add(hashKey(value, type));
+        }
+        return fieldValue -> keys.contains(hashKey(fieldValue, type));
+    }
+
+    /**
+     * Canonical form of a non-null value converted to the given query value type, for hashing,
+     * so that e.g. 1, 1.0 and 1.00 share a key.
+     */
+    public static Object hashKey(Object value, Class<?> type) {
+        if (type == BigDecimal.class) {
+            return toBigDecimal(value).stripTrailingZeros();
+        }
+        if (type == LocalDate.class) {
+            return toLocalDateTime(value);
+        }
+        if (type == Boolean.class) {
+            return toBoolean(value);
+        }
+        return toText(value);
+    }
+
+    /**
+     * Returns a test for whether a non-null row value matches a SQL LIKE pattern with the
+     * {@code %} and {@code _} wildcards. Patterns that are a plain prefix, suffix or infix skip the regex.
+     */
+    public static Predicate<Object> like(String pattern) {
+        boolean leading = pattern.startsWith("%");
+        boolean trailing = pattern.length() > 1 && pattern.endsWith("%");
+        String literal = pattern.substring(leading ? 1 : 0, pattern.length() - (trailing ? 1 : 0));
+        if (literal.indexOf('%') < 0 && literal.indexOf('_') < 0) {
+            if (leading && trailing) {
+                return fieldValue -> toText(fieldValue).contains(literal);
+            }
+            if (leading) {
+                return fieldValue -> toText(fieldValue).endsWith(literal);
+            }
+            if (trailing) {
+                return fieldValue -> toText(fieldValue).startsWith(literal);
+            }
+            return fieldValue -> toText(fieldValue).equals(literal);
+        }
+        StringBuilder regex = new StringBuilder();
+        StringBuilder segment = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '%' || c == '_') {
+                if (!segment.isEmpty()) {
+                    regex.append(Pattern.quote(segment.toString()));
+                    segment.setLength(0);
+                }
+                regex.append(c == '%' ? ".*" : ".");
+            } else {
+                segment.append(c);
+            }
+        }
+        if (!segment.isEmpty()) {
+            regex.append(Pattern.quote(segment.toString()));
+        }
+        Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        return fieldValue -> compiled.matcher(toText(fieldValue)).matches();
+    }
+
+    public static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        if (value instanceof ZonedDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toLocalDate();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof String text && text.length() >= 10) {
+            // Date part of an ISO date or date-time, as CAST(... AS DATE) would keep
+            try {
+                return LocalDate.parse(text.substring(0, 10));
+            } catch (DateTimeParseException ex) {
+                throw new InvalidQueryException("Cannot compare value '" + text + "' with a date");
+            }
+        }
+        throw new InvalidQueryException("Cannot compare " + value.getClass().getName() + " value with a date");
+    }
+
+    /**
+     * Converts a date or date-time row value for comparison with a date, which stands for its midnight.
+     */
+    public static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.toLocalDateTime();
+        }
+        if (value instanceof ZonedDateTime dateTime) {
+            return dateTime.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().atStartOfDay();
+        }
+        if (value instanceof String text && text.length() > 10) {
+            // ISO date-time, with a 'T' or a space before the time and an optional offset
+            String isoText = text.charAt(10) == ' ' ? text.substring(0, 10) + 'T' + text.substring(11) : text;
+            try {
+                return LocalDateTime.parse(isoText);
+            } catch (DateTimeParseException ex) {
+                try {
+                    return OffsetDateTime.parse(isoText).toLocalDateTime();
+                } catch (DateTimeParseException offsetEx) {
+                    throw new InvalidQueryException("Cannot compare value '" + text + "' with a date");
+                }
+            }
+        }
+        return toLocalDate(value).atStartOfDay();
+    }
+
+    public static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (isIntegral(value)) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue());
+        }
+        if (value instanceof String text) {
+            try {
+                return new BigDecimal(text.trim());
+            } catch (NumberFormatException ex) {
+                throw new InvalidQueryException("Cannot compare value '" + text + "' with a number");
+            }
+        }
+        throw new InvalidQueryException("Cannot compare " + value.getClass().getName() + " value with a number");
+    }
+
+    public static boolean toBoolean(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof Number number) {
+            // BIT columns
+            return number.intValue() != 0;
+        }
+        if (value instanceof String text) {
+            return Boolean.parseBoolean(text.trim()) || "1".equals(text.trim());
+        }
+        throw new InvalidQueryException("Cannot compare " + value.getClass().getName() + " value with a boolean");
+    }
+
+    /**
+     * Case-folds a string so that ordinal comparisons of folded strings ignore case.
+     */
+    public static String foldCase(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    public static String toText(Object value) {
+        return value instanceof String text ? text : value.toString();
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+}
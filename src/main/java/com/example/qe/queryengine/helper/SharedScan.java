@@ -0,0 +1,120 @@
+package com.example.qe.queryengine.helper;
+
+import com.example.qe.queryengine.plan.ConstantConditions;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SelectFieldOrAsterisk;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers several filters on the same table with one scan: the rows matching any filter are selected once,
+ * tagged with a {@code CASE WHEN <filter> THEN 1 ELSE 0 END} flag column per filter, and split back
+ * into one result per filter in Java.
+ * <p>
+ * A filter is rendered twice, in its flag and in the WHERE clause, so its bind values count twice
+ * against the 2100 parameters SQL Server accepts per statement; {@link #partition} splits the filters
+ * into scans that stay within a limit.
+ */
+public class SharedScan {
+
+    static final String FLAG_PREFIX = "qe_match_";
+
+    private SharedScan() {}
+
+    /**
+     * Selects the projection plus one flag column per condition, from the rows matching any of the conditions.
+     * A TRUE condition, or a condition scanned alone, matches every selected row, so its flag is a constant 1
+     * and it is bound at most once; a TRUE condition selects every row, so the WHERE clause is dropped.
+     */
+    public static ResultQuery<Record> query(DSLContext dsl, String tableName,
+                                            List<? extends SelectFieldOrAsterisk> projection, List<Condition> conditions) {
+        List<SelectFieldOrAsterisk> select = new ArrayList<>(projection);
+        boolean allRows = conditions.stream().anyMatch(ConstantConditions::isTrue);
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            Field<Integer> flag = ConstantConditions.isTrue(condition) || conditions.size() == 1
+                    ? DSL.inline(1)
+                    : DSL.when(condition, DSL.inline(1)).else_(DSL.inline(0));
+            select.add(flag.as(FLAG_PREFIX + i));
+        }
+        return allRows
+                ? dsl.select(select).from(tableName)
+                : dsl.select(select).from(tableName).where(DSL.or(conditions));
+    }
+
+    /**
+     * Splits the conditions, in order, into groups whose shared scan binds at most {@code maxBinds} values.
+     * Returns the indexes of the conditions in each group. A condition that exceeds the limit by itself
+     * gets a group of its own, where it is bound once as in a separate query.
+     */
+    public static List<List<Integer>> partition(DSLContext dsl, List<Condition> conditions, int maxBinds) {
+        List<List<Integer>> groups = new ArrayList<>();
+        List<Integer> group = new ArrayList<>();
+        int groupBinds = 0;
+        for (int i = 0; i < conditions.size(); i++) {
+            Condition condition = conditions.get(i);
+            int binds = ConstantConditions.isTrue(condition) ? 0 : 2 * dsl.extractBindValues(condition).size();
+            if (!group.isEmpty() && groupBinds + binds > maxBinds) {
+                groups.add(group);
+                group = new ArrayList<>();
+                groupBinds = 0;
+            }
+            group.add(i);
+            groupBinds += binds;
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Splits the shared result into the rows of each filter. A filter's columns are the names it projected,
+     * or null for every column of the shared result except the flags.
+     */
+    public static List<List<Map<String, Object>>> demultiplex(Result<Record> result, List<List<String>> columnsPerFilter) {
+        int filterCount = columnsPerFilter.size();
+        Field<?>[] flags = new Field<?>[filterCount];
+        for (int i = 0; i < filterCount; i++) {
+            flags[i] = result.field(FLAG_PREFIX + i);
+        }
+        List<String> dataColumns = new ArrayList<>();
+        for (Field<?> field : result.fields()) {
+            if (!field.getName().startsWith(FLAG_PREFIX)) {
+                dataColumns.add(field.getName());
+            }
+        }
+
+        List<List<Map<String, Object>>> rowsPerFilter = new ArrayList<>(filterCount);
+        for (int i = 0; i < filterCount; i++) {
+            rowsPerFilter.add(new ArrayList<>());
+        }
+        for (Record record : result) {
+            for (int i = 0; i < filterCount; i++) {
+                Object flag = record.get(flags[i]);
+                if (flag instanceof Number number && number.intValue() == 1) {
+                    List<String> columns = columnsPerFilter.get(i);
+                    rowsPerFilter.get(i).add(row(record, columns == null ? dataColumns : columns));
+                }
+            }
+        }
+        return rowsPerFilter;
+    }
+
+    private static Map<String, Object> row(Record record, List<String> columns) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : columns) {
+            row.put(column, record.get(column));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.qe.queryengine.messaging;
+
+import com.example.qe.queryengine.percolator.Percolator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Message-driven mode, off by default: records on the input queue are matched against the saved queries
+ * and the matches published to the output exchange. Consumers receive up to batch-size messages at a time,
+ * waiting at most batch-timeout for a batch to fill; prefetch bounds the unacknowledged messages per consumer.
+ */
+@Configuration
+@ConditionalOnProperty(name = "queryengine.amqp.enabled", havingValue = "true")
+public class AmqpPipelineConfig {
+
+    @Bean
+    public Queue recordQueue(@Value("${queryengine.amqp.input-queue:qe.records}") String name) {
+        return new Queue(name, true);
+    }
+
+    @Bean
+    public TopicExchange matchExchange(@Value("${queryengine.amqp.output-exchange:qe.matches}") String name) {
+        return new TopicExchange(name, true, false);
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory recordBatchContainerFactory(ConnectionFactory connectionFactory,
+            @Value("${queryengine.amqp.prefetch:250}") int prefetch,
+            @Value("${queryengine.amqp.batch-size:50}") int batchSize,
+            @Value("${queryengine.amqp.batch-timeout:200ms}") Duration batchTimeout,
+            @Value("${queryengine.amqp.consumers:1}") int consumers) {
+        if (prefetch <= 0 || batchSize <= 0 || consumers <= 0) {
+            throw new IllegalArgumentException("Prefetch, batch size and consumers must be positive");
+        }
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchTimeout.toMillis());
+        // A batch cannot fill beyond the messages the broker sends ahead of acknowledgement
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setConcurrentConsumers(consumers);
+        factory.setAcknowledgeMode(AcknowledgeMode.AUTO);
+        factory.setDefaultRequeueRejected(true);
+        return factory;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(MatchPublisher.class)
+    public MatchPublisher matchPublisher(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper,
+            @Value("${queryengine.amqp.output-exchange:qe.matches}") String exchange,
+            @Value("${queryengine.amqp.output-routing-key:rule.match}") String routingKey) {
+        return new RabbitMatchPublisher(rabbitTemplate, objectMapper, exchange, routingKey);
+    }
+
+    @Bean
+    public RecordEvaluationPipeline recordEvaluationPipeline(Percolator percolator, MatchPublisher matchPublisher,
+            ObjectMapper objectMapper, @Value("${queryengine.amqp.default-table:}") String defaultTableName) {
+        return new RecordEvaluationPipeline(percolator, matchPublisher, objectMapper, defaultTableName);
+    }
+}
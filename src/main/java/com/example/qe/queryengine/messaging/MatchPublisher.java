@@ -0,0 +1,14 @@
+package com.example.qe.queryengine.messaging;
+
+import com.example.qe.queryengine.query.RecordMatchDto;
+
+import java.util.List;
+
+/**
+ * Destination of the matches found by {@link RecordEvaluationPipeline}. A failure must be thrown,
+ * so the incoming batch is not acknowledged and the broker redelivers it.
+ */
+public interface MatchPublisher {
+
+    void publish(List<RecordMatchDto> matches);
+}
@@ -0,0 +1,48 @@
+package com.example.qe.queryengine.messaging;
+
+import com.example.qe.queryengine.query.RecordMatchDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+
+/**
+ * Publishes each match as a JSON message to the output exchange, with the table name as a header
+ * so consumers can bind on it.
+ */
+public class RabbitMatchPublisher implements MatchPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final String exchange;
+    private final String routingKey;
+
+    public RabbitMatchPublisher(RabbitTemplate rabbitTemplate, ObjectMapper objectMapper, String exchange, String routingKey) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+    }
+
+    @Override
+    public void publish(List<RecordMatchDto> matches) {
+        for (RecordMatchDto match : matches) {
+            rabbitTemplate.send(exchange, routingKey, toMessage(match));
+        }
+    }
+
+    private Message toMessage(RecordMatchDto match) {
+        try {
+            return MessageBuilder.withBody(objectMapper.writeValueAsBytes(match))
+                    .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                    .setHeader(RecordEvaluationPipeline.TABLE_NAME_HEADER, match.getTableName())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize match for message " + match.getMessageId(), e);
+        }
+    }
+}
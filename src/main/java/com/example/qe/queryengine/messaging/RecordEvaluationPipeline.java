@@ -0,0 +1,141 @@
+package com.example.qe.queryengine.messaging;
+
+import com.example.qe.queryengine.exception.FieldTypeMismatchException;
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.percolator.Percolator;
+import com.example.qe.queryengine.query.RecordMatchDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates records arriving on the input queue against the queries registered with the {@link Percolator}
+ * and publishes the records that match any of them. Messages are consumed in micro-batches, one JSON object
+ * per message, and the batch is only acknowledged once its matches are published: if publishing fails the
+ * whole batch is redelivered, and since the prefetch caps unacknowledged messages, a slow or unavailable
+ * output stops consumption instead of buffering records in memory. Records that cannot be evaluated are
+ * dropped rather than redelivered, since they would fail again on every delivery.
+ */
+@Slf4j
+public class RecordEvaluationPipeline {
+
+    /**
+     * Header naming the table a record belongs to; messages without it use the configured default table.
+     */
+    public static final String TABLE_NAME_HEADER = "tableName";
+
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
+
+    private final Percolator percolator;
+    private final MatchPublisher matchPublisher;
+    private final ObjectMapper objectMapper;
+    private final String defaultTableName;
+
+    public RecordEvaluationPipeline(Percolator percolator, MatchPublisher matchPublisher,
+                                    ObjectMapper objectMapper, String defaultTableName) {
+        this.percolator = percolator;
+        this.matchPublisher = matchPublisher;
+        this.objectMapper = objectMapper;
+        this.defaultTableName = defaultTableName == null || defaultTableName.isBlank() ? null : defaultTableName;
+    }
+
+    @RabbitListener(queues = "${queryengine.amqp.input-queue:qe.records}", containerFactory = "recordBatchContainerFactory")
+    public void onRecords(List<Message> messages) {
+        process(messages);
+    }
+
+    /**
+     * Matches a batch of messages and publishes the matches, grouped by table in order of first appearance.
+     * Messages that cannot be decoded, have no table, or hold values the saved queries cannot compare
+     * (e.g. text in a numeric column) are logged and dropped, since redelivering them would fail again
+     * and hold up the rest of the batch.
+     */
+    public List<RecordMatchDto> process(List<Message> messages) {
+        Map<String, List<Message>> messagesByTable = new LinkedHashMap<>();
+        Map<String, List<Map<String, Object>>> recordsByTable = new LinkedHashMap<>();
+        for (Message message : messages) {
+            String tableName = tableName(message);
+            Map<String, Object> record = decode(message);
+            if (tableName == null || record == null) {
+                continue;
+            }
+            messagesByTable.computeIfAbsent(tableName, key -> new ArrayList<>()).add(message);
+            recordsByTable.computeIfAbsent(tableName, key -> new ArrayList<>()).add(record);
+        }
+
+        List<RecordMatchDto> matches = new ArrayList<>();
+        recordsByTable.forEach((tableName, records) -> {
+            List<Message> tableMessages = messagesByTable.get(tableName);
+            List<List<String>> queryIds = match(tableName, records, tableMessages);
+            for (int i = 0; i < records.size(); i++) {
+                if (queryIds.get(i) != null && !queryIds.get(i).isEmpty()) {
+                    matches.add(RecordMatchDto.builder()
+                            .tableName(tableName)
+                            .messageId(tableMessages.get(i).getMessageProperties().getMessageId())
+                            .record(records.get(i))
+                            .queryIds(queryIds.get(i))
+                            .build());
+                }
+            }
+        });
+        if (!matches.isEmpty()) {
+            matchPublisher.publish(matches);
+        }
+        log.debug("Evaluated {} messages, {} matched", messages.size(), matches.size());
+        return matches;
+    }
+
+    /**
+     * Matches the table's records in one pass; if any record fails, matches them one at a time so that
+     * only the failing records are dropped. Returns null for a dropped record.
+     */
+    private List<List<String>> match(String tableName, List<Map<String, Object>> records, List<Message> messages) {
+        try {
+            return percolator.match(tableName, records);
+        } catch (QueryEngineException | InvalidQueryException | FieldTypeMismatchException e) {
+            List<List<String>> queryIds = new ArrayList<>(records.size());
+            for (int i = 0; i < records.size(); i++) {
+                try {
+                    queryIds.add(percolator.match(tableName, records.get(i)));
+                } catch (QueryEngineException | InvalidQueryException | FieldTypeMismatchException recordError) {
+                    log.warn("Dropping message {}: record cannot be evaluated against {}: {}",
+                            messages.get(i).getMessageProperties().getMessageId(), tableName, recordError.getMessage());
+                    queryIds.add(null);
+                }
+            }
+            return queryIds;
+        }
+    }
+
+    private String tableName(Message message) {
+        Object header = message.getMessageProperties().getHeader(TABLE_NAME_HEADER);
+        String tableName = header == null ? defaultTableName : header.toString();
+        if (tableName == null || tableName.isBlank()) {
+            log.warn("Dropping message {}: no {} header and no default table", message.getMessageProperties().getMessageId(), TABLE_NAME_HEADER);
+            return null;
+        }
+        return tableName;
+    }
+
+    private Map<String, Object> decode(Message message) {
+        try {
+            Map<String, Object> record = objectMapper.readValue(message.getBody(), RECORD_TYPE);
+            if (record == null) {
+                log.warn("Dropping message {}: body is not a JSON object", message.getMessageProperties().getMessageId());
+            }
+            return record;
+        } catch (IOException e) {
+            log.warn("Dropping message {}: body is not a JSON object: {}", message.getMessageProperties().getMessageId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.qe.queryengine.operator;
 
 import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.exception.QueryReplaceableException;
 import com.example.qe.queryengine.query.Query;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -9,6 +11,8 @@ import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
 public class ConditionParser {
 
@@ -24,6 +28,29 @@ public class ConditionParser {
     }
 
     public Condition parseJsonToCondition(String json) {
+        return parseQuery(json).toCondition(dsl, operatorFactory);
+    }
+
+    /**
+     * Parses the query straight from the given token stream and closes the parser afterwards.
+     * Used together with a placeholder-resolving parser so that a request is parsed exactly once.
+     */
+    public Condition parseJsonToCondition(JsonParser parser) {
+        return parseQuery(parser).toCondition(dsl, operatorFactory);
+    }
+
+    public Query parseQuery(String json) {
+        return validate(readQuery(json));
+    }
+
+    public Query parseQuery(JsonParser parser) {
+        return validate(readQuery(parser));
+    }
+
+    /**
+     * Deserializes the query without validating it; {@link #parseQuery} does both.
+     */
+    public Query readQuery(String json) {
         if (json == null || json.trim().isEmpty()) {
             throw new QueryEngineException("JSON cannot be null or empty");
         }
@@ -34,13 +61,33 @@ public class ConditionParser {
         } catch (JsonProcessingException ex) {
             throw new QueryEngineException("Failed to convert JSON to Query class with error: "+ ex.getMessage(), ex);
         }
+        return query;
+    }
 
+    public Query readQuery(JsonParser parser) {
+        Query query;
+        try (parser) {
+            query = objectMapper.readValue(parser, Query.class);
+        } catch (IOException ex) {
+            // Placeholder resolution happens while tokens are read, so surface its failures as-is
+            if (ex.getCause() instanceof QueryReplaceableException replaceableException) {
+                throw replaceableException;
+            }
+            throw new QueryEngineException("Failed to convert JSON to Query class with error: "+ ex.getMessage(), ex);
+        }
+
+        if (query == null) {
+            throw new QueryEngineException("JSON cannot be null or empty");
+        }
+        return query;
+    }
+
+    public Query validate(Query query) {
         try {
             query.validate();
         } catch (IllegalArgumentException ex) {
             throw new QueryEngineException("Query Validation failed with error: "+ ex.getMessage(), ex);
         }
-
-        return query.toCondition(dsl, operatorFactory);
+        return query;
     }
 }
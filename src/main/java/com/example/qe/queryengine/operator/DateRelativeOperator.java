@@ -0,0 +1,44 @@
+package com.example.qe.queryengine.operator;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Param;
+
+/**
+ * Date operators that compare against an offset from today, e.g. {@code daysAfter}.
+ * They take today from the request's {@link EvaluationContext}; the context-free variants
+ * fall back to the system clock at the time of the call.
+ * In memory, a date matches when it equals the target date computed from the context's today.
+ */
+public interface DateRelativeOperator extends GenericOperator, RunConditionOperator, SargableOperator, InMemoryOperator {
+
+    @Override
+    Condition apply(Field<?> field, Object value, EvaluationContext context);
+
+    @Override
+    Condition applySargable(Field<?> field, Object value, EvaluationContext context);
+
+    @Override
+    boolean test(Object placeholder, Object value, EvaluationContext context);
+
+    @Override
+    default Condition apply(Field<?> field, Object value) {
+        return apply(field, value, EvaluationContext.now());
+    }
+
+    @Override
+    default Condition applyParam(Field<?> field, Param<?> param, EvaluationContext context) {
+        return apply(field, param.getValue(), context);
+    }
+
+    @Override
+    default Condition applySargable(Field<?> field, Object value) {
+        return applySargable(field, value, EvaluationContext.now());
+    }
+
+    @Override
+    default boolean test(Object placeholder, Object value) {
+        return test(placeholder, value, EvaluationContext.now());
+    }
+}
@@ -1,10 +1,33 @@
 package com.example.qe.queryengine.operator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.Param;
 
 public interface GenericOperator {
     /**
      * Apply this operator to a DSL field and a value, producing a Condition.
      */
     Condition apply(Field<?> field, Object value);
+
+    /**
+     * Apply this operator to a named bind parameter carrying a request-specific value.
+     * Operators that compare the field directly against the value should render the parameter
+     * itself, so every request shares the same SQL text; others fall back to the plain value.
+     */
+    default Condition applyParam(Field<?> field, Param<?> param) {
+        return apply(field, param.getValue());
+    }
+
+    /**
+     * Apply this operator within a request. Operators that need request state, such as the current date,
+     * read it from the context; all others ignore it.
+     */
+    default Condition apply(Field<?> field, Object value, EvaluationContext context) {
+        return apply(field, value);
+    }
+
+    default Condition applyParam(Field<?> field, Param<?> param, EvaluationContext context) {
+        return applyParam(field, param);
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.qe.queryengine.operator;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.Field;
+
+import java.util.function.Predicate;
+
+/**
+ * Implemented by operators that can also be evaluated in Java against row values, with the same
+ * semantics as the condition they render, including SQL NULL handling: a null row value only
+ * matches where the SQL condition would be true for NULL. Strings are compared ordinally, as under a
+ * binary collation; {@link com.example.qe.queryengine.plan.RowPredicateCompiler} folds case around the
+ * matcher when the database collation is case-insensitive.
+ */
+public interface InMemoryOperator {
+
+    /**
+     * Returns a test for the raw value of {@code field} in a row. It is built once per bound query,
+     * so the value is validated and converted here and the returned test only compares.
+     */
+    Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context);
+}
@@ -0,0 +1,8 @@
+package com.example.qe.queryengine.operator;
+
+/**
+ * Marker for operators that take a JSON array as their value, such as {@code in} and {@code notIn}.
+ * Every other operator rejects list values.
+ */
+public interface MultiValueOperator {
+}
@@ -0,0 +1,97 @@
+package com.example.qe.queryengine.operator;
+
+import com.example.qe.queryengine.query.ValueType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the {@link OperatorRegistry}, taken once all operators are registered.
+ * Operator names are interned to dense ids, and operators are looked up by
+ * {@code [operatorId][fieldType][valueType]} array access, with types indexed by {@link ValueType} ordinal.
+ */
+public final class OperatorDispatchTable {
+
+    public static final int UNKNOWN_OPERATOR = -1;
+
+    private static final ValueType[] TYPES = ValueType.values();
+
+    private final Map<String, Integer> operatorIds;
+    private final GenericOperator[][][] operators;
+    private final RunConditionOperator[][] runConditionOperators;
+    private final ValueType[][] expectedValueTypes;
+
+    OperatorDispatchTable(List<String> operatorNames,
+                          Map<String, Set<Class<?>>> fieldTypesByOperator,
+                          Map<String, Set<Class<?>>> valueTypesByOperator,
+                          Map<String, GenericOperator> operatorsByName) {
+        int count = operatorNames.size();
+        this.operatorIds = new HashMap<>(count * 2);
+        this.operators = new GenericOperator[count][TYPES.length][TYPES.length];
+        this.runConditionOperators = new RunConditionOperator[count][TYPES.length];
+        this.expectedValueTypes = new ValueType[count][TYPES.length];
+
+        for (int id = 0; id < count; id++) {
+            String name = operatorNames.get(id);
+            operatorIds.put(name, id);
+            GenericOperator operator = operatorsByName.get(name);
+            Set<Class<?>> fieldTypes = fieldTypesByOperator.get(name);
+            Set<Class<?>> valueTypes = valueTypesByOperator.get(name);
+            ValueType firstValueType = valueTypes.stream().map(ValueType::fromClass).filter(type -> type != null).findFirst().orElse(null);
+
+            for (ValueType fieldType : TYPES) {
+                // Same rule as OperatorFactory.resolveValueType: the field's own type if supported, else the first one
+                expectedValueTypes[id][fieldType.ordinal()] = valueTypes.contains(fieldType.getClazz()) ? fieldType : firstValueType;
+                if (!fieldTypes.contains(fieldType.getClazz())) {
+                    continue;
+                }
+                for (ValueType valueType : TYPES) {
+                    if (valueTypes.contains(valueType.getClazz())) {
+                        operators[id][fieldType.ordinal()][valueType.ordinal()] = operator;
+                    }
+                }
+            }
+            if (operator instanceof RunConditionOperator runConditionOperator) {
+                for (ValueType valueType : TYPES) {
+                    if (valueTypes.contains(valueType.getClazz())) {
+                        runConditionOperators[id][valueType.ordinal()] = runConditionOperator;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Interns the operator name, returning {@link #UNKNOWN_OPERATOR} for names that were never registered.
+     */
+    public int idOf(String operatorName) {
+        Integer id = operatorName == null ? null : operatorIds.get(operatorName);
+        return id == null ? UNKNOWN_OPERATOR : id;
+    }
+
+    public GenericOperator get(int operatorId, ValueType fieldType, ValueType valueType) {
+        if (operatorId == UNKNOWN_OPERATOR || fieldType == null || valueType == null) {
+            return null;
+        }
+        return operators[operatorId][fieldType.ordinal()][valueType.ordinal()];
+    }
+
+    public RunConditionOperator getRunCondition(int operatorId, ValueType valueType) {
+        if (operatorId == UNKNOWN_OPERATOR || valueType == null) {
+            return null;
+        }
+        return runConditionOperators[operatorId][valueType.ordinal()];
+    }
+
+    /**
+     * The value type the operator expects for the field type, or null if the operator has no usable value types.
+     */
+    public ValueType expectedValueType(int operatorId, ValueType fieldType) {
+        if (operatorId == UNKNOWN_OPERATOR || fieldType == null) {
+            return null;
+        }
+        return expectedValueTypes[operatorId][fieldType.ordinal()];
+    }
+}
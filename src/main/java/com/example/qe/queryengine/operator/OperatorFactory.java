@@ -14,6 +14,13 @@ public class OperatorFactory {
         this.registry = registry;
     }
 
+    /**
+     * The frozen operator lookup table used when compiling queries.
+     */
+    public OperatorDispatchTable dispatchTable() {
+        return registry.getDispatchTable();
+    }
+
     /**
      * Resolves the operator by name and value type.
      * Throws an exception if no matching operator is found.
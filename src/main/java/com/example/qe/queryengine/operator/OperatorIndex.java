@@ -0,0 +1,12 @@
+package com.example.qe.queryengine.operator;
+
+/**
+ * Compile-time list of operators, generated by the registry index processor.
+ * Lets {@link OperatorScanner} register operators without classpath scanning or reflection.
+ */
+public interface OperatorIndex {
+
+    String GENERATED_CLASS_NAME = "com.example.qe.queryengine.operator.GeneratedOperatorIndex";
+
+    void registerAll(OperatorRegistry registry);
+}
@@ -4,23 +4,65 @@ import org.springframework.stereotype.Component;
 
 import java.util.*;
 
+/**
+ * Collects operators during startup. The scanner calls {@link #freeze()} once all operators are registered;
+ * query compilation then resolves operators through the precomputed {@link OperatorDispatchTable}.
+ */
 @Component
 public class OperatorRegistry {
-    private final Map<String, Set<Class<?>>> operatorToFieldTypes = new HashMap<>();
-    private final Map<String, Set<Class<?>>> operatorToValueTypes = new HashMap<>();
+    private final Map<String, Set<Class<?>>> operatorToFieldTypes = new LinkedHashMap<>();
+    private final Map<String, Set<Class<?>>> operatorToValueTypes = new LinkedHashMap<>();
     private final Map<String, GenericOperator> operatorMap = new HashMap<>();
     private final Map<String, RunConditionOperator> runConditionOperatorMap = new HashMap<>();
 
+    private volatile boolean frozen;
+    private volatile OperatorDispatchTable dispatchTable;
+
     public void register(String name, Class<?>[] fieldTypes, Class<?>[] valueTypes, GenericOperator operator) {
-        operatorToFieldTypes.computeIfAbsent(name, k -> new HashSet<>()).addAll(Arrays.asList(fieldTypes));
-        operatorToValueTypes.computeIfAbsent(name, k -> new HashSet<>()).addAll(Arrays.asList(valueTypes));
+        if (frozen) {
+            throw new IllegalStateException("Operator registry is frozen, cannot register operator " + name);
+        }
+        operatorToFieldTypes.computeIfAbsent(name, k -> new LinkedHashSet<>()).addAll(Arrays.asList(fieldTypes));
+        operatorToValueTypes.computeIfAbsent(name, k -> new LinkedHashSet<>()).addAll(Arrays.asList(valueTypes));
         operatorMap.put(name, operator);
+        dispatchTable = null;
 
         if (operator instanceof RunConditionOperator runConditionOperator) {
             runConditionOperatorMap.put(name, runConditionOperator);
         }
     }
 
+    /**
+     * Stops further registration and builds the dispatch table used for all later lookups.
+     */
+    public synchronized void freeze() {
+        frozen = true;
+        dispatchTable = buildDispatchTable();
+    }
+
+    /**
+     * The dispatch table for the registered operators. Before {@link #freeze()} it is rebuilt
+     * after each registration, which keeps registries assembled by hand usable.
+     */
+    public OperatorDispatchTable getDispatchTable() {
+        OperatorDispatchTable table = dispatchTable;
+        if (table == null) {
+            synchronized (this) {
+                table = dispatchTable;
+                if (table == null) {
+                    table = buildDispatchTable();
+                    dispatchTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private OperatorDispatchTable buildDispatchTable() {
+        return new OperatorDispatchTable(new ArrayList<>(operatorToFieldTypes.keySet()),
+                operatorToFieldTypes, operatorToValueTypes, operatorMap);
+    }
+
     public GenericOperator get(String name, Class<?> fieldType, Class<?> valueType) {
         Set<Class<?>> fieldTypes = operatorToFieldTypes.get(name);
         Set<Class<?>> valueTypes = operatorToValueTypes.get(name);
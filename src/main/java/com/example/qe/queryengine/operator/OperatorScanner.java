@@ -21,6 +21,15 @@ public class OperatorScanner {
 
     @PostConstruct
     public void scanAndRegister() {
+        OperatorIndex index = loadGeneratedIndex();
+        if (index != null) {
+            index.registerAll(registry);
+            registry.freeze();
+            log.debug("Registered operators from generated index {}", OperatorIndex.GENERATED_CLASS_NAME);
+            return;
+        }
+
+        // Fallback when the annotation processor did not run, e.g. in some IDE builds
         Reflections reflections = new Reflections(OPERATOR_BASE_PACKAGE);
         Set<Class<?>> operatorClasses = reflections.getTypesAnnotatedWith(OperatorAnnotation.class);
         for (Class<?> clazz : operatorClasses) {
@@ -35,6 +44,20 @@ public class OperatorScanner {
                 throw new QueryEngineException("Failed to instantiate operator " + clazz.getName(), e);
             }
         }
+        registry.freeze();
         log.debug("Completed operator scanning. Total operators processed: {}", operatorClasses.size());
     }
+
+    OperatorIndex loadGeneratedIndex() {
+        try {
+            return Class.forName(OperatorIndex.GENERATED_CLASS_NAME)
+                    .asSubclass(OperatorIndex.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new QueryEngineException("Failed to load generated operator index", e);
+        }
+    }
 }
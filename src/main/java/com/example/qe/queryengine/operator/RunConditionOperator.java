@@ -1,8 +1,28 @@
 package com.example.qe.queryengine.operator;
 
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
+import org.jooq.impl.DSL;
 
 @FunctionalInterface
 public interface RunConditionOperator {
-    Condition evaluate(Object placeholder, Object value);
+
+    /**
+     * Evaluates the run condition in Java, e.g. whether the placeholder date is a Monday.
+     */
+    boolean test(Object placeholder, Object value);
+
+    /**
+     * Evaluates the run condition within a request, see {@link GenericOperator#apply(org.jooq.Field, Object, EvaluationContext)}.
+     */
+    default boolean test(Object placeholder, Object value, EvaluationContext context) {
+        return test(placeholder, value);
+    }
+
+    /**
+     * Wraps the Java-side result as a constant SQL condition.
+     */
+    default Condition evaluate(Object placeholder, Object value) {
+        return test(placeholder, value) ? DSL.condition("1 = 1") : DSL.condition("1 = 0");
+    }
 }
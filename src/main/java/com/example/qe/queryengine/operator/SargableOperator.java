@@ -0,0 +1,30 @@
+package com.example.qe.queryengine.operator;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.Condition;
+import org.jooq.Field;
+
+import java.time.LocalDate;
+
+/**
+ * Implemented by date operators that can also be expressed as a half-open range on the raw column,
+ * e.g. {@code col >= '2025-09-15' AND col < '2025-09-16'} instead of {@code CAST(col AS DATE) = '2025-09-15'}.
+ * The range form matches the same rows but leaves the column unwrapped, so the database can use an index seek.
+ */
+public interface SargableOperator {
+
+    /**
+     * Apply this operator as a range predicate on the raw column.
+     */
+    Condition applySargable(Field<?> field, Object value);
+
+    default Condition applySargable(Field<?> field, Object value, EvaluationContext context) {
+        return applySargable(field, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Condition dateRange(Field<?> field, LocalDate fromInclusive, LocalDate toExclusive) {
+        Field<LocalDate> dateField = (Field<LocalDate>) field;
+        return dateField.ge(fromInclusive).and(dateField.lt(toExclusive));
+    }
+}
@@ -1,15 +1,19 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 @OperatorAnnotation(
         value = "dayOfMonth",
@@ -17,31 +21,37 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class},
         description = "Checks if the day of the month component of a date field equals the specified day, from 1 to 31 (depending on month and year)"
 )
-public class DayOfMonthOperator implements GenericOperator, RunConditionOperator {
+public class DayOfMonthOperator implements GenericOperator, RunConditionOperator, InMemoryOperator {
     @Override
     public Condition apply(Field<?> field, Object day) {
+        int expectedDay = expectedDay(field, day);
+        Field<Integer> dayField = DSL.field("DAY(CAST({0} AS DATE))", Integer.class, field);
+        return dayField.eq(expectedDay);
+    }
+
+    @Override
+    public boolean test(Object placeholder, Object value) {
+        LocalDate date = LocalDate.parse((String) placeholder);
+        Integer dayOfMonth = date.getDayOfMonth();
+        Integer day = ((BigDecimal) value).intValue();
+        return dayOfMonth.equals(day);
+    }
+
+    private int expectedDay(Field<?> field, Object day) {
         if (day == null) {
             throw new InvalidQueryException("Day value cannot be null");
         }
-
         if (!LocalDate.class.isAssignableFrom(field.getType())) {
             throw new InvalidQueryException(
                     "DayOfMonthOperator only supports LocalDate fields, but got: " + field.getType()
             );
         }
-        int expectedDay = ((BigDecimal) day).intValue();
-        Field<Integer> dayField = DSL.field("DAY(CAST({0} AS DATE))", Integer.class, field);
-        return dayField.eq(expectedDay);
+        return ((BigDecimal) day).intValue();
     }
 
     @Override
-    public Condition evaluate(Object placeholder, Object value) {
-        LocalDate date = LocalDate.parse((String) placeholder);
-        Integer dayOfMonth = date.getDayOfMonth();
-        Integer day = ((BigDecimal) value).intValue();
-        if (dayOfMonth.equals(day)) {
-            return DSL.condition("1 = 1");
-        }
-        return DSL.condition("1 = 0");
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        int expectedDay = expectedDay(field, value);
+        return fieldValue -> fieldValue != null && RowValues.toLocalDate(fieldValue).getDayOfMonth() == expectedDay;
     }
 }
@@ -1,15 +1,19 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 @OperatorAnnotation(
         value = "dayOfWeek",
@@ -17,19 +21,10 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class},
         description = "Checks if the day component of a date field equals the specified day of the week, where Monday=1 and Sunday=7"
 )
-public class DayOfWeekOperator implements GenericOperator, RunConditionOperator {
+public class DayOfWeekOperator implements GenericOperator, RunConditionOperator, InMemoryOperator {
     @Override
     public Condition apply(Field<?> field, Object day) {
-        if (day == null) {
-            throw new InvalidQueryException("Day value cannot be null");
-        }
-
-        if (!LocalDate.class.isAssignableFrom(field.getType())) {
-            throw new InvalidQueryException(
-                    "DayOfWeekOperator only supports LocalDate fields, but got: " + field.getType()
-            );
-        }
-        int expectedDay = ((BigDecimal) day).intValue();
+        int expectedDay = expectedDay(field, day);
         // Remap to Monday=1 .. Sunday=7
         Field<Integer> dayOfWeekMapped = DSL.field(
                 "((datepart(weekday, {0}) + @@DATEFIRST - 2) % 7) + 1",
@@ -40,13 +35,28 @@ public class DayOfWeekOperator implements GenericOperator, RunConditionOperator
     }
 
     @Override
-    public Condition evaluate(Object placeholder, Object value) {
+    public boolean test(Object placeholder, Object value) {
         LocalDate date = LocalDate.parse((String) placeholder);
         Integer dayOfWeek = date.getDayOfWeek().getValue();
         Integer day = ((BigDecimal) value).intValue();
-        if (dayOfWeek.equals(day)) {
-            return DSL.condition("1 = 1");
+        return dayOfWeek.equals(day);
+    }
+
+    private int expectedDay(Field<?> field, Object day) {
+        if (day == null) {
+            throw new InvalidQueryException("Day value cannot be null");
+        }
+        if (!LocalDate.class.isAssignableFrom(field.getType())) {
+            throw new InvalidQueryException(
+                    "DayOfWeekOperator only supports LocalDate fields, but got: " + field.getType()
+            );
         }
-        return DSL.condition("1 = 0");
+        return ((BigDecimal) day).intValue();
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        int expectedDay = expectedDay(field, value);
+        return fieldValue -> fieldValue != null && RowValues.toLocalDate(fieldValue).getDayOfWeek().getValue() == expectedDay;
     }
 }
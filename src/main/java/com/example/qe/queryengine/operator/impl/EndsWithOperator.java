@@ -1,18 +1,23 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 
+import java.util.function.Predicate;
+
 @OperatorAnnotation(
         value = "endsWith",
         supportedFieldTypes = {String.class},
         supportedValueTypes = {String.class},
         description = "Checks if a string field ends with a given pattern"
 )
-public class EndsWithOperator implements GenericOperator {
+public class EndsWithOperator implements GenericOperator, InMemoryOperator {
     @Override
     public Condition apply(Field<?> field, Object value) {
         if (!(value instanceof String)) {
@@ -20,4 +25,13 @@ public class EndsWithOperator implements GenericOperator {
         }
         return field.like("%" + value);
     }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        if (!(value instanceof String)) {
+            throw new InvalidQueryException("EndsWithOperator expects a String value");
+        }
+        Predicate<Object> pattern = RowValues.like("%" + value);
+        return fieldValue -> fieldValue != null && pattern.test(fieldValue);
+    }
 }
@@ -1,14 +1,20 @@
 package com.example.qe.queryengine.operator.impl;
 
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
 import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
-import org.jooq.impl.DSL;
+import org.jooq.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 @OperatorAnnotation(
         value = "equals",
@@ -16,7 +22,7 @@ import java.time.LocalDate;
         supportedValueTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
         description = "Checks if a field equals the given value"
 )
-public class EqualsOperator implements GenericOperator, RunConditionOperator {
+public class EqualsOperator implements GenericOperator, RunConditionOperator, InMemoryOperator {
 
     @SuppressWarnings("unchecked")
     @Override
@@ -28,13 +34,19 @@ public class EqualsOperator implements GenericOperator, RunConditionOperator {
         return ((Field<Object>) field).eq(value);
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public Condition applyParam(Field<?> field, Param<?> param) {
+        return ((Field<Object>) field).eq((Field<Object>) param);
+    }
+
     @Override
-    public Condition evaluate(Object placeholder, Object value) {
+    public boolean test(Object placeholder, Object value) {
         if (placeholder == null && value == null) {
-            return DSL.condition("1 = 1");
+            return true;
         }
         if (placeholder == null || value == null) {
-            return DSL.condition("1 = 0");
+            return false;
         }
 
         // Normalize placeholder to the type of value
@@ -47,9 +59,15 @@ public class EqualsOperator implements GenericOperator, RunConditionOperator {
             normalizedPlaceholder = Boolean.parseBoolean((String) placeholder);
         }
 
-        if (value.equals(normalizedPlaceholder)) {
-            return DSL.condition("1 = 1");
+        return value.equals(normalizedPlaceholder);
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        if (value == null) {
+            return Objects::isNull;
         }
-        return DSL.condition("1 = 0");
+        ToIntFunction<Object> comparator = RowValues.comparator(value);
+        return fieldValue -> fieldValue != null && comparator.applyAsInt(fieldValue) == 0;
     }
 }
@@ -1,13 +1,19 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 @OperatorAnnotation(
         value = "greaterThanEqual",
@@ -15,7 +21,7 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class, LocalDate.class},
         description = "Checks if a field is greater than or equal to the given value"
 )
-public class GreaterThanEqualOperator implements GenericOperator {
+public class GreaterThanEqualOperator implements GenericOperator, InMemoryOperator {
     @SuppressWarnings("unchecked")
     @Override
     public Condition apply(Field<?> field, Object value) {
@@ -25,4 +31,19 @@ public class GreaterThanEqualOperator implements GenericOperator {
 
         return ((Field<Object>) field).ge(value);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Condition applyParam(Field<?> field, Param<?> param) {
+        return ((Field<Object>) field).ge((Field<Object>) param);
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        if (value == null) {
+            throw new InvalidQueryException("Value cannot be null for greaterThanEqual operator");
+        }
+        ToIntFunction<Object> comparator = RowValues.comparator(value);
+        return fieldValue -> fieldValue != null && comparator.applyAsInt(fieldValue) >= 0;
+    }
 }
@@ -1,13 +1,19 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 @OperatorAnnotation(
         value = "greaterThan",
@@ -15,7 +21,7 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class, LocalDate.class},
         description = "Checks if a field is strictly greater than to the given value"
 )
-public class GreaterThanOperator implements GenericOperator {
+public class GreaterThanOperator implements GenericOperator, InMemoryOperator {
     @SuppressWarnings("unchecked")
     @Override
     public Condition apply(Field<?> field, Object value) {
@@ -24,4 +30,19 @@ public class GreaterThanOperator implements GenericOperator {
         }
 
         return ((Field<Object>) field).gt(value);    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Condition applyParam(Field<?> field, Param<?> param) {
+        return ((Field<Object>) field).gt((Field<Object>) param);
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        if (value == null) {
+            throw new InvalidQueryException("Value cannot be null for greaterThan operator");
+        }
+        ToIntFunction<Object> comparator = RowValues.comparator(value);
+        return fieldValue -> fieldValue != null && comparator.applyAsInt(fieldValue) > 0;
+    }
 }
@@ -0,0 +1,129 @@
+package com.example.qe.queryengine.operator.impl;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
+import com.example.qe.queryengine.operator.MultiValueOperator;
+import com.example.qe.queryengine.operator.OperatorAnnotation;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.ValueType;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+@OperatorAnnotation(
+        value = "in",
+        supportedFieldTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
+        supportedValueTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
+        description = "Checks if a field equals any of the given values"
+)
+public class InOperator implements GenericOperator, MultiValueOperator, InMemoryOperator {
+
+    /**
+     * Lists longer than this are sent as a single JSON array parameter expanded with OPENJSON,
+     * keeping well below SQL Server's limit of 2100 parameters per statement.
+     */
+    public static final int LARGE_LIST_THRESHOLD = 1000;
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Condition apply(Field<?> field, Object value) {
+        List<Object> values = values(value);
+        if (values.isEmpty()) {
+            return field.isNull();
+        }
+        Field<Object> objectField = (Field<Object>) field;
+
+        Condition condition = values.size() > LARGE_LIST_THRESHOLD
+                ? openJsonCondition("in", field, values)
+                : objectField.in(values);
+        return values.size() < ((Collection<?>) value).size() ? condition.or(field.isNull()) : condition;
+    }
+
+    /**
+     * Returns the non-null values of a list value, rejecting anything that is not a non-empty list.
+     */
+    static List<Object> values(Object value) {
+        if (!(value instanceof Collection<?> collection) || collection.isEmpty()) {
+            throw new InvalidQueryException("In operators require a non-empty list of values");
+        }
+        return collection.stream().filter(Objects::nonNull).map(Object.class::cast).toList();
+    }
+
+    /**
+     * Tests the field against the values sent as one JSON array parameter. OPENJSON returns its values as
+     * nvarchar(max) unless a WITH clause types them, and comparing those with a numeric, date or bit column
+     * converts the column and rules out an index seek, so they are typed after the query's value type.
+     */
+    static Condition openJsonCondition(String operator, Field<?> field, List<Object> values) {
+        return DSL.condition("{0} " + operator + " (select value from openjson({1}) with (value " + sqlType(field, values) + " '$'))",
+                field, DSL.val(toJsonArray(values)));
+    }
+
+    private static String sqlType(Field<?> field, List<Object> values) {
+        ValueType valueType = ValueType.fromClass(field.getType());
+        if (valueType == null) {
+            valueType = ValueType.fromClass(values.get(0).getClass());
+        }
+        if (valueType == null) {
+            valueType = ValueType.STRING;
+        }
+        return switch (valueType) {
+            case NUMERIC -> decimalType(values);
+            case DATE -> "date";
+            case BOOLEAN -> "bit";
+            // Like the nvarchar parameters of short lists, and keeps characters outside a varchar code page
+            case STRING -> "nvarchar(4000)";
+        };
+    }
+
+    /**
+     * A decimal type holding every value exactly, within SQL Server's maximum precision of 38.
+     */
+    private static String decimalType(List<Object> values) {
+        int scale = 0;
+        int integerDigits = 1;
+        for (Object value : values) {
+            if (value instanceof BigDecimal number) {
+                scale = Math.max(scale, Math.max(0, number.scale()));
+                integerDigits = Math.max(integerDigits, number.precision() - number.scale());
+            }
+        }
+        return "decimal(38, " + Math.min(scale, Math.max(0, 38 - integerDigits)) + ")";
+    }
+
+    static String toJsonArray(List<Object> values) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Object v = values.get(i);
+            if (v instanceof BigDecimal number) {
+                // toString() may use scientific notation, e.g. 1E+3
+                json.append(number.toPlainString());
+            } else if (v instanceof Boolean) {
+                json.append(v);
+            } else {
+                json.append('"').append(v.toString().replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            }
+        }
+        return json.append(']').toString();
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        List<Object> values = values(value);
+        boolean matchesNull = values.size() < ((Collection<?>) value).size();
+        Predicate<Object> membership = values.isEmpty() ? fieldValue -> false : RowValues.membership(values);
+        return fieldValue -> fieldValue == null ? matchesNull : membership.test(fieldValue);
+    }
+}
@@ -1,11 +1,15 @@
 package com.example.qe.queryengine.operator.impl;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Predicate;
 
 @OperatorAnnotation(
         value = "isNull",
@@ -13,11 +17,16 @@ import java.time.LocalDate;
         supportedValueTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
         description = "Checks if a field is not null"
 )
-public class IsNullOperator implements GenericOperator {
+public class IsNullOperator implements GenericOperator, InMemoryOperator {
 
     @Override
     public Condition apply(Field<?> field, Object value) {
         // value is ignored because null check doesn’t need a value
         return field.isNull();
     }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        return Objects::isNull;
+    }
 }
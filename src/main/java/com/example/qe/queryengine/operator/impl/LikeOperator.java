@@ -1,17 +1,22 @@
 package com.example.qe.queryengine.operator.impl;
 
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 
+import java.util.function.Predicate;
+
 @OperatorAnnotation(
         value = "like",
         supportedFieldTypes = {String.class},
         supportedValueTypes = {String.class},
         description = "Checks if a string field matches the given pattern"
 )
-public class LikeOperator implements GenericOperator {
+public class LikeOperator implements GenericOperator, InMemoryOperator {
     @Override
     public Condition apply(Field<?> field, Object value) {
         if (!(value instanceof String)) {
@@ -19,4 +24,13 @@ public class LikeOperator implements GenericOperator {
         }
         return field.like("%" + value + "%");
     }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException("LikeOperator expects a String value");
+        }
+        Predicate<Object> pattern = RowValues.like("%" + value + "%");
+        return fieldValue -> fieldValue != null && pattern.test(fieldValue);
+    }
 }
@@ -1,15 +1,19 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 
 @OperatorAnnotation(
@@ -18,10 +22,23 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class},
         description = "Checks if the month component of a date field equals the specified month"
 )
-public class MonthEqualOperator implements GenericOperator, RunConditionOperator {
+public class MonthEqualOperator implements GenericOperator, RunConditionOperator, InMemoryOperator {
 
     @Override
     public Condition apply(Field<?> field, Object value) {
+        int expectedMonth = expectedMonth(field, value);
+        Field<Integer> monthField = DSL.field("MONTH(CAST({0} AS DATE))", Integer.class, field);
+        return monthField.eq(expectedMonth);
+    }
+
+    @Override
+    public boolean test(Object placeholder, Object value) {
+        LocalDate date = LocalDate.parse((String) placeholder);
+        BigDecimal month = (BigDecimal) value;
+        return date.getMonthValue() == month.intValue();
+    }
+
+    private int expectedMonth(Field<?> field, Object value) {
         if (value == null) {
             throw new InvalidQueryException("Month value cannot be null");
         }
@@ -30,18 +47,12 @@ public class MonthEqualOperator implements GenericOperator, RunConditionOperator
                     "MonthEqualOperator only supports LocalDate field, but got: " + field.getType()
             );
         }
-        int expectedMonth = ((BigDecimal) value).intValue();
-        Field<Integer> monthField = DSL.field("MONTH(CAST({0} AS DATE))", Integer.class, field);
-        return monthField.eq(expectedMonth);
+        return ((BigDecimal) value).intValue();
     }
 
     @Override
-    public Condition evaluate(Object placeholder, Object value) {
-        LocalDate date = LocalDate.parse((String) placeholder);
-        BigDecimal month = (BigDecimal) value;
-        if (date.getMonthValue() == month.intValue()) {
-            return DSL.condition("1 = 1");
-        }
-        return DSL.condition("1 = 0");
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        int expectedMonth = expectedMonth(field, value);
+        return fieldValue -> fieldValue != null && RowValues.toLocalDate(fieldValue).getMonthValue() == expectedMonth;
     }
 }
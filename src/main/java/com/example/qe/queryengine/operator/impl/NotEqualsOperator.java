@@ -1,12 +1,19 @@
 package com.example.qe.queryengine.operator.impl;
 
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
 
 
 @OperatorAnnotation(
@@ -15,7 +22,7 @@ import java.time.LocalDate;
         supportedValueTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
         description = "Checks if a field is NOT equals the given value"
 )
-public class NotEqualsOperator implements GenericOperator {
+public class NotEqualsOperator implements GenericOperator, InMemoryOperator {
     @SuppressWarnings("unchecked")
     @Override
     public Condition apply(Field<?> field, Object value) {
@@ -25,4 +32,19 @@ public class NotEqualsOperator implements GenericOperator {
         }
         return ((Field<Object>) field).ne(value);
     }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Condition applyParam(Field<?> field, Param<?> param) {
+        return ((Field<Object>) field).ne((Field<Object>) param);
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        if (value == null) {
+            return Objects::nonNull;
+        }
+        ToIntFunction<Object> comparator = RowValues.comparator(value);
+        return fieldValue -> fieldValue != null && comparator.applyAsInt(fieldValue) != 0;
+    }
 }
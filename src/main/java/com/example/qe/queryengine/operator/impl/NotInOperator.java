@@ -0,0 +1,51 @@
+package com.example.qe.queryengine.operator.impl;
+
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
+import com.example.qe.queryengine.operator.MultiValueOperator;
+import com.example.qe.queryengine.operator.OperatorAnnotation;
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.Condition;
+import org.jooq.Field;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+@OperatorAnnotation(
+        value = "notIn",
+        supportedFieldTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
+        supportedValueTypes = {String.class, BigDecimal.class, Boolean.class, LocalDate.class},
+        description = "Checks if a field equals none of the given values"
+)
+public class NotInOperator implements GenericOperator, MultiValueOperator, InMemoryOperator {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Condition apply(Field<?> field, Object value) {
+        List<Object> values = InOperator.values(value);
+        boolean excludesNull = values.size() < ((Collection<?>) value).size();
+        if (values.isEmpty()) {
+            return field.isNotNull();
+        }
+
+        Condition condition = values.size() > InOperator.LARGE_LIST_THRESHOLD
+                ? InOperator.openJsonCondition("not in", field, values)
+                : ((Field<Object>) field).notIn(values);
+        return excludesNull ? condition.and(field.isNotNull()) : condition;
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        List<Object> values = InOperator.values(value);
+        if (values.isEmpty()) {
+            return Objects::nonNull;
+        }
+        Predicate<Object> membership = RowValues.membership(values);
+        return fieldValue -> fieldValue != null && !membership.test(fieldValue);
+    }
+}
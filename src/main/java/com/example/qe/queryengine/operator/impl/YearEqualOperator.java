@@ -1,15 +1,20 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
 import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.operator.SargableOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 @OperatorAnnotation(
         value = "yearEqual",
@@ -17,10 +22,21 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class},
         description = "Checks if the year component of a date field equals the specified year"
 )
-public class YearEqualOperator implements GenericOperator, RunConditionOperator {
+public class YearEqualOperator implements GenericOperator, RunConditionOperator, SargableOperator, InMemoryOperator {
 
     @Override
     public Condition apply(Field<?> field, Object value) {
+        Field<Integer> yearField = DSL.field("YEAR(CAST({0} AS DATE))", Integer.class, field);
+        return yearField.eq(year(field, value));
+    }
+
+    @Override
+    public Condition applySargable(Field<?> field, Object value) {
+        LocalDate firstDay = LocalDate.of(year(field, value), 1, 1);
+        return SargableOperator.dateRange(field, firstDay, firstDay.plusYears(1));
+    }
+
+    private int year(Field<?> field, Object value) {
         if (value == null) {
             throw new InvalidQueryException("Year value cannot be null");
         }
@@ -30,18 +46,19 @@ public class YearEqualOperator implements GenericOperator, RunConditionOperator
                     "YearEqualOperator only supports LocalDate fields, but got: " + field.getType()
             );
         }
-        BigDecimal year = (BigDecimal) value;
-        Field<Integer> yearField = DSL.field("YEAR(CAST({0} AS DATE))", Integer.class, field);
-        return yearField.eq(year.intValue());
+        return ((BigDecimal) value).intValue();
     }
 
     @Override
-    public Condition evaluate(Object placeholder, Object value) {
+    public boolean test(Object placeholder, Object value) {
         LocalDate date = LocalDate.parse((String) placeholder);
         BigDecimal year = (BigDecimal) value;
-        if (date.getYear() == year.intValue()) {
-            return DSL.condition("1 = 1");
-        }
-        return DSL.condition("1 = 0");
+        return date.getYear() == year.intValue();
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        int year = year(field, value);
+        return fieldValue -> fieldValue != null && RowValues.toLocalDate(fieldValue).getYear() == year;
     }
 }
@@ -1,15 +1,18 @@
 package com.example.qe.queryengine.operator.impl;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
-import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.DateRelativeOperator;
 import com.example.qe.queryengine.operator.OperatorAnnotation;
-import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.operator.SargableOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.function.Predicate;
 
 @OperatorAnnotation(
         value = "yearsAfter",
@@ -17,10 +20,20 @@ import java.time.LocalDate;
         supportedValueTypes = {BigDecimal.class},
         description = "Checks if today is a given number of years after a date field"
 )
-public class YearsAfterOperator implements GenericOperator, RunConditionOperator {
+public class YearsAfterOperator implements DateRelativeOperator {
 
     @Override
-    public Condition apply(Field<?> field, Object value) {
+    public Condition apply(Field<?> field, Object value, EvaluationContext context) {
+        return DSL.field("CAST({0} AS DATE)", LocalDate.class, field).eq(targetDate(field, value, context.getToday()));
+    }
+
+    @Override
+    public Condition applySargable(Field<?> field, Object value, EvaluationContext context) {
+        LocalDate targetDate = targetDate(field, value, context.getToday());
+        return SargableOperator.dateRange(field, targetDate, targetDate.plusDays(1));
+    }
+
+    private LocalDate targetDate(Field<?> field, Object value, LocalDate today) {
         if (value == null) {
             throw new InvalidQueryException("Year value cannot be null");
         }
@@ -29,16 +42,20 @@ public class YearsAfterOperator implements GenericOperator, RunConditionOperator
                     "YearsAfterOperator only supports LocalDate fields, but got: " + field.getType()
             );
         }
-        LocalDate targetDate = LocalDate.now().minusYears(((BigDecimal) value).longValue());
-        Field<LocalDate> dateOnlyField = DSL.field("CAST({0} AS DATE)", LocalDate.class, field);
-        return dateOnlyField.eq(targetDate);
+        return today.minusYears(((BigDecimal) value).longValue());
     }
 
     @Override
-    public Condition evaluate(Object placeholder, Object value) {
+    public boolean test(Object placeholder, Object value, EvaluationContext context) {
         LocalDate date = LocalDate.parse((String) placeholder);
         BigDecimal years = (BigDecimal) value;
-        LocalDate targetDate = LocalDate.now().minusYears(years.intValue());
-        return date.equals(targetDate) ? DSL.condition("1 = 1") : DSL.condition("1 = 0");
+        LocalDate targetDate = context.getToday().minusYears(years.intValue());
+        return date.equals(targetDate);
+    }
+
+    @Override
+    public Predicate<Object> matcher(Field<?> field, Object value, EvaluationContext context) {
+        LocalDate targetDate = targetDate(field, value, context.getToday());
+        return fieldValue -> fieldValue != null && targetDate.equals(RowValues.toLocalDate(fieldValue));
     }
 }
@@ -0,0 +1,156 @@
+package com.example.qe.queryengine.percolator;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.plan.PredicateNetwork;
+import com.example.qe.queryengine.plan.QueryPlan;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import com.example.qe.queryengine.plan.RowAccessor;
+import com.example.qe.queryengine.plan.RowPredicateCompiler;
+import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.replaceable.ReplaceableResolver;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Matches records against saved queries without touching the database: given newly inserted rows,
+ * it returns the ids of the saved queries each row satisfies. Queries are indexed per table by
+ * {@link PercolatorIndex}, and only the candidates the index cannot rule out are evaluated in memory,
+ * through a network sharing the predicates common to the table's queries.
+ * Placeholders such as "[me]" resolve against the saved query's own context, e.g. its createdBy.
+ * Registration rebuilds the affected table's index, so matching never blocks on it.
+ */
+@Component
+public class Percolator {
+
+    // Rows are keyed by lower-case column name; plan columns are already lower case in the common case,
+    // where toLowerCase returns the same string without allocating
+    private static final RowAccessor<Map<String, ?>> ROW_ACCESSOR = (row, column) -> row.get(column.toLowerCase(Locale.ROOT));
+
+    private final ConditionParser conditionParser;
+    private final QueryPlanCompiler queryPlanCompiler;
+    private final RowPredicateCompiler rowPredicateCompiler;
+    private final ReplaceableResolver replaceableResolver;
+
+    // Guarded by this; the indexes are immutable snapshots swapped on every change
+    private final Map<String, SavedQuery> queries = new LinkedHashMap<>();
+    private volatile Map<String, PercolatorIndex> indexes = Map.of();
+
+    public Percolator(ConditionParser conditionParser, QueryPlanCompiler queryPlanCompiler,
+                      RowPredicateCompiler rowPredicateCompiler, ReplaceableResolver replaceableResolver) {
+        this.conditionParser = conditionParser;
+        this.queryPlanCompiler = queryPlanCompiler;
+        this.rowPredicateCompiler = rowPredicateCompiler;
+        this.replaceableResolver = replaceableResolver;
+    }
+
+    /**
+     * Registers or replaces the saved query with the definition's requestId as its id.
+     * The query is compiled and bound once here, so invalid queries are rejected up front.
+     */
+    public void register(QueryContextDto definition) {
+        String id = definition.getRequestId();
+        if (id == null || id.isBlank()) {
+            throw new QueryEngineException("A saved query needs a requestId as its id");
+        }
+        if (definition.getTableName() == null || definition.getTableName().isBlank()) {
+            throw new QueryEngineException("Saved query " + id + " needs a tableName");
+        }
+        QueryPlan plan = queryPlanCompiler.compile(conditionParser.parseQuery(definition.getJson()));
+        SavedQuery query = new SavedQuery(id, tableKey(definition.getTableName()), definition, plan);
+        rowPredicateCompiler.compile(plan, ROW_ACCESSOR, replaceableResolver.createEvaluationContext(definition));
+
+        synchronized (this) {
+            SavedQuery previous = queries.put(id, query);
+            if (previous != null && !previous.getTableKey().equals(query.getTableKey())) {
+                rebuild(previous.getTableKey());
+            }
+            rebuild(query.getTableKey());
+        }
+    }
+
+    public synchronized boolean remove(String id) {
+        SavedQuery removed = queries.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        rebuild(removed.getTableKey());
+        return true;
+    }
+
+    public synchronized int size() {
+        return queries.size();
+    }
+
+    public List<String> match(String tableName, Map<String, ?> record) {
+        return match(tableName, List.of(record)).get(0);
+    }
+
+    /**
+     * Returns, for each record, the ids of the saved queries on the table it matches, in registration order.
+     * Column names are matched ignoring case, like SQL Server does.
+     */
+    public List<List<String>> match(String tableName, List<? extends Map<String, ?>> records) {
+        PercolatorIndex index = indexes.get(tableKey(tableName));
+        LocalDate today = LocalDate.now();
+        List<List<String>> matches = new ArrayList<>(records.size());
+        if (index == null) {
+            records.forEach(record -> matches.add(List.of()));
+            return matches;
+        }
+        PercolatorIndex.BoundNetwork network = network(index, today);
+        PredicateNetwork<Map<String, ?>>.Evaluation evaluation = network.network().newEvaluation();
+        for (Map<String, ?> record : records) {
+            Map<String, Object> row = new HashMap<>(record.size() * 2);
+            record.forEach((column, value) -> row.put(column.toLowerCase(Locale.ROOT), value));
+            evaluation.reset(row);
+            List<String> ids = new ArrayList<>();
+            BitSet candidates = index.candidates(row);
+            for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                if (evaluation.test(network.roots()[ordinal])) {
+                    ids.add(index.getQueries().get(ordinal).getId());
+                }
+            }
+            matches.add(ids);
+        }
+        return matches;
+    }
+
+    private PercolatorIndex.BoundNetwork network(PercolatorIndex index, LocalDate today) {
+        return index.network(today, day -> {
+            PredicateNetwork.Builder<Map<String, ?>> builder = rowPredicateCompiler.networkBuilder(ROW_ACCESSOR);
+            List<SavedQuery> tableQueries = index.getQueries();
+            int[] roots = new int[tableQueries.size()];
+            for (int ordinal = 0; ordinal < roots.length; ordinal++) {
+                SavedQuery query = tableQueries.get(ordinal);
+                roots[ordinal] = builder.add(query.getPlan(), replaceableResolver.createEvaluationContext(query.getDefinition(), day));
+            }
+            return new PercolatorIndex.BoundNetwork(day, builder.build(), roots);
+        });
+    }
+
+    private void rebuild(String tableKey) {
+        List<SavedQuery> tableQueries = queries.values().stream()
+                .filter(query -> query.getTableKey().equals(tableKey))
+                .toList();
+        Map<String, PercolatorIndex> updated = new HashMap<>(indexes);
+        if (tableQueries.isEmpty()) {
+            updated.remove(tableKey);
+        } else {
+            updated.put(tableKey, new PercolatorIndex(tableQueries, rowPredicateCompiler.isIgnoreCase()));
+        }
+        indexes = Map.copyOf(updated);
+    }
+
+    private static String tableKey(String tableName) {
+        return tableName == null ? "" : tableName.toLowerCase(Locale.ROOT);
+    }
+}
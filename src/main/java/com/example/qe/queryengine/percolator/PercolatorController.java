@@ -0,0 +1,33 @@
+package com.example.qe.queryengine.percolator;
+
+import com.example.qe.queryengine.query.QueryContextDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RequestMapping("/api/percolator")
+@RestController
+public class PercolatorController {
+
+    @Autowired
+    private Percolator percolator;
+
+    @PutMapping("/queries")
+    public ResponseEntity<Void> registerQuery(@RequestBody QueryContextDto definition) {
+        percolator.register(definition);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/queries/{id}")
+    public ResponseEntity<Void> removeQuery(@PathVariable String id) {
+        return percolator.remove(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/match")
+    public ResponseEntity<List<List<String>>> match(@RequestParam String tableName, @RequestBody List<Map<String, Object>> records) {
+        return ResponseEntity.ok(percolator.match(tableName, records));
+    }
+}
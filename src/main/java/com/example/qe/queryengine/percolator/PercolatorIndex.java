@@ -0,0 +1,236 @@
+package com.example.qe.queryengine.percolator;
+
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.plan.CompositePlanNode;
+import com.example.qe.queryengine.plan.ConstantPlanNode;
+import com.example.qe.queryengine.plan.FieldPlanNode;
+import com.example.qe.queryengine.plan.LogicalOperator;
+import com.example.qe.queryengine.plan.PlanNode;
+import com.example.qe.queryengine.plan.PredicateNetwork;
+import com.example.qe.queryengine.query.Placeholder;
+import com.example.qe.queryengine.query.ValueType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable inverted index over the saved queries of one table. Each query is filed under its anchors,
+ * leaf predicates of which at least one must hold for the query to match: equality and IN leaves by
+ * value, and range leaves by bound. For a row, only queries with a satisfied anchor, plus those without
+ * any anchor, are candidates that still need to be evaluated. The candidates are evaluated through one
+ * {@link PredicateNetwork} for the whole table, bound for one day at a time since placeholders such as
+ * "[today]" and date-relative operators depend on the current date.
+ */
+final class PercolatorIndex {
+
+    private final List<SavedQuery> queries;
+    private final boolean ignoreCase;
+    private final BitSet unindexed = new BitSet();
+    private final Map<ColumnKey, Map<Object, BitSet>> equalities = new HashMap<>();
+    private final Map<ColumnKey, RangeIndex> ranges = new HashMap<>();
+
+    private volatile BoundNetwork bound;
+
+    /**
+     * With {@code ignoreCase}, string keys are case-folded, as the queries' string predicates ignore case.
+     */
+    PercolatorIndex(List<SavedQuery> queries, boolean ignoreCase) {
+        this.queries = List.copyOf(queries);
+        this.ignoreCase = ignoreCase;
+        for (int ordinal = 0; ordinal < this.queries.size(); ordinal++) {
+            List<Anchor> anchors = this.queries.get(ordinal).getAnchors();
+            if (anchors == null) {
+                unindexed.set(ordinal);
+                continue;
+            }
+            for (Anchor anchor : anchors) {
+                if (anchor instanceof Equality equality) {
+                    equalities.computeIfAbsent(equality.column(), k -> new HashMap<>())
+                            .computeIfAbsent(foldCase(equality.key()), k -> new BitSet())
+                            .set(ordinal);
+                } else if (anchor instanceof Bound bound) {
+                    ranges.computeIfAbsent(bound.column(), k -> new RangeIndex()).add(bound, ordinal);
+                }
+            }
+        }
+    }
+
+    List<SavedQuery> getQueries() {
+        return queries;
+    }
+
+    BoundNetwork network(LocalDate today, Function<LocalDate, BoundNetwork> binder) {
+        BoundNetwork current = bound;
+        if (current == null || !current.today().equals(today)) {
+            current = binder.apply(today);
+            bound = current;
+        }
+        return current;
+    }
+
+    /**
+     * The ordinals of the queries that may match the row, which is keyed by lower-case column name.
+     */
+    BitSet candidates(Map<String, ?> row) {
+        BitSet candidates = (BitSet) unindexed.clone();
+        for (Map.Entry<ColumnKey, Map<Object, BitSet>> entry : equalities.entrySet()) {
+            Object value = row.get(entry.getKey().column());
+            if (value != null) {
+                BitSet matches = entry.getValue().get(foldCase(RowValues.hashKey(value, entry.getKey().valueType().getClazz())));
+                if (matches != null) {
+                    candidates.or(matches);
+                }
+            }
+        }
+        for (Map.Entry<ColumnKey, RangeIndex> entry : ranges.entrySet()) {
+            Object value = row.get(entry.getKey().column());
+            if (value != null) {
+                entry.getValue().collect(RowValues.hashKey(value, entry.getKey().valueType().getClazz()), candidates);
+            }
+        }
+        return candidates;
+    }
+
+    private Object foldCase(Object key) {
+        return ignoreCase && key instanceof String text ? RowValues.foldCase(text) : key;
+    }
+
+    /**
+     * Derives the anchors of a plan node: a list of leaves at least one of which holds whenever the node
+     * holds, an empty list for a node that never holds, or null if no such list exists.
+     * A conjunction only needs the anchors of one child, so it picks the most selective one.
+     */
+    static List<Anchor> anchors(PlanNode node) {
+        if (node instanceof FieldPlanNode fieldNode) {
+            return fieldAnchors(fieldNode);
+        }
+        if (node instanceof ConstantPlanNode constant) {
+            return constant.value() ? null : List.of();
+        }
+        if (!(node instanceof CompositePlanNode composite)) {
+            // Run conditions do not depend on the row
+            return null;
+        }
+        if (composite.getLogicalOperator() == LogicalOperator.OR) {
+            List<Anchor> anchors = new ArrayList<>();
+            for (PlanNode child : composite.getChildren()) {
+                List<Anchor> childAnchors = anchors(child);
+                if (childAnchors == null) {
+                    return null;
+                }
+                anchors.addAll(childAnchors);
+            }
+            return anchors;
+        }
+        List<Anchor> best = null;
+        for (PlanNode child : composite.getChildren()) {
+            List<Anchor> childAnchors = anchors(child);
+            if (childAnchors != null && (best == null || selectivity(childAnchors) < selectivity(best))) {
+                best = childAnchors;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lower is more selective: equalities hit a single key, while a bound matches a whole range of values.
+     */
+    private static int selectivity(List<Anchor> anchors) {
+        return anchors.stream().mapToInt(anchor -> anchor instanceof Equality ? 1 : 1000).sum();
+    }
+
+    private static List<Anchor> fieldAnchors(FieldPlanNode node) {
+        ColumnKey column = new ColumnKey(node.getColumn().toLowerCase(Locale.ROOT), node.getValueType());
+        Object value = node.getValue();
+        switch (node.getOperatorName()) {
+            case "equals":
+                return isConstant(value) ? List.of(new Equality(column, key(value, column))) : null;
+            case "in":
+                if (!(value instanceof List<?> values) || !values.stream().allMatch(PercolatorIndex::isConstant)) {
+                    // A null element also matches rows without a value, which are not indexed
+                    return null;
+                }
+                return values.stream().<Anchor>map(element -> new Equality(column, key(element, column))).toList();
+            case "greaterThan":
+                return bound(column, value, true, false);
+            case "greaterThanEqual":
+                return bound(column, value, true, true);
+            case "lessThan":
+                return bound(column, value, false, false);
+            case "lessThanEqual":
+                return bound(column, value, false, true);
+            default:
+                return null;
+        }
+    }
+
+    private static List<Anchor> bound(ColumnKey column, Object value, boolean lower, boolean inclusive) {
+        boolean ordered = column.valueType() == ValueType.NUMERIC || column.valueType() == ValueType.DATE;
+        if (!ordered || !isConstant(value)) {
+            return null;
+        }
+        return List.of(new Bound(column, key(value, column), lower, inclusive));
+    }
+
+    private static boolean isConstant(Object value) {
+        return value != null && !(value instanceof Placeholder) && !(value instanceof List<?>);
+    }
+
+    private static Object key(Object value, ColumnKey column) {
+        return RowValues.hashKey(value, column.valueType().getClazz());
+    }
+
+    /**
+     * The network of the table's queries bound for one day; {@code roots[ordinal]} is the node of the query.
+     */
+    record BoundNetwork(LocalDate today, PredicateNetwork<Map<String, ?>> network, int[] roots) {
+    }
+
+    record ColumnKey(String column, ValueType valueType) {
+    }
+
+    sealed interface Anchor permits Equality, Bound {
+    }
+
+    record Equality(ColumnKey column, Object key) implements Anchor {
+    }
+
+    /**
+     * A lower bound for greaterThan(Equal) leaves, an upper bound for lessThan(Equal) leaves.
+     */
+    record Bound(ColumnKey column, Object value, boolean lower, boolean inclusive) implements Anchor {
+    }
+
+    /**
+     * Bounds on one column, sorted so that the bounds a value satisfies form a head or tail of each map.
+     */
+    private static final class RangeIndex {
+
+        private final NavigableMap<Object, BitSet> lowerInclusive = new TreeMap<>();
+        private final NavigableMap<Object, BitSet> lowerExclusive = new TreeMap<>();
+        private final NavigableMap<Object, BitSet> upperInclusive = new TreeMap<>();
+        private final NavigableMap<Object, BitSet> upperExclusive = new TreeMap<>();
+
+        void add(Bound bound, int ordinal) {
+            NavigableMap<Object, BitSet> bounds = bound.lower()
+                    ? (bound.inclusive() ? lowerInclusive : lowerExclusive)
+                    : (bound.inclusive() ? upperInclusive : upperExclusive);
+            bounds.computeIfAbsent(bound.value(), k -> new BitSet()).set(ordinal);
+        }
+
+        void collect(Object value, BitSet candidates) {
+            lowerInclusive.headMap(value, true).values().forEach(candidates::or);
+            lowerExclusive.headMap(value, false).values().forEach(candidates::or);
+            upperInclusive.tailMap(value, true).values().forEach(candidates::or);
+            upperExclusive.tailMap(value, false).values().forEach(candidates::or);
+        }
+    }
+}
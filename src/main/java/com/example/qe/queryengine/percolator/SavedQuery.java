@@ -0,0 +1,29 @@
+package com.example.qe.queryengine.percolator;
+
+import com.example.qe.queryengine.plan.QueryPlan;
+import com.example.qe.queryengine.query.QueryContextDto;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A registered query with its compiled plan and the index anchors derived from it.
+ */
+@Getter
+final class SavedQuery {
+
+    private final String id;
+    private final String tableKey;
+    private final QueryContextDto definition;
+    private final QueryPlan plan;
+    // Null when the plan has no leaf the index can use, so the query is a candidate for every row
+    private final List<PercolatorIndex.Anchor> anchors;
+
+    SavedQuery(String id, String tableKey, QueryContextDto definition, QueryPlan plan) {
+        this.id = id;
+        this.tableKey = tableKey;
+        this.definition = definition;
+        this.plan = plan;
+        this.anchors = PercolatorIndex.anchors(plan.getRoot());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import lombok.Getter;
+import org.jooq.Condition;
+import org.jooq.impl.DSL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Getter
+public final class CompositePlanNode implements PlanNode {
+
+    private final LogicalOperator logicalOperator;
+    private final List<PlanNode> children;
+
+    public CompositePlanNode(LogicalOperator logicalOperator, List<PlanNode> children) {
+        this.logicalOperator = logicalOperator;
+        this.children = List.copyOf(children);
+    }
+
+    /**
+     * Binds the children and folds constant results: a FALSE child makes an AND false and a TRUE child
+     * makes an OR true, while neutral constants are dropped.
+     */
+    @Override
+    public Condition bind(EvaluationContext context) {
+        boolean conjunction = logicalOperator == LogicalOperator.AND;
+        List<Condition> conditions = new ArrayList<>(children.size());
+        for (PlanNode child : children) {
+            Condition condition = child.bind(context);
+            if (conjunction ? ConstantConditions.isFalse(condition) : ConstantConditions.isTrue(condition)) {
+                return condition;
+            }
+            if (!(conjunction ? ConstantConditions.isTrue(condition) : ConstantConditions.isFalse(condition))) {
+                conditions.add(condition);
+            }
+        }
+        if (conditions.isEmpty()) {
+            return ConstantConditions.of(conjunction);
+        }
+        return conjunction ? DSL.and(conditions) : DSL.or(conditions);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompositePlanNode other
+                && logicalOperator == other.logicalOperator
+                && children.equals(other.children);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(logicalOperator, children);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.qe.queryengine.plan;
+
+import org.jooq.Condition;
+import org.jooq.impl.DSL;
+import org.jooq.impl.QOM;
+
+/**
+ * Helpers for the constant TRUE/FALSE conditions produced by folding a plan.
+ * The constants render as {@code 1 = 1} and {@code 1 = 0}: jOOQ's own {@code trueCondition()} renders
+ * as a bare {@code true} under the DEFAULT dialect, which SQL Server rejects.
+ */
+public final class ConstantConditions {
+
+    private static final Condition TRUE = DSL.condition("1 = 1");
+    private static final Condition FALSE = DSL.condition("1 = 0");
+
+    private ConstantConditions() {}
+
+    public static Condition of(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    public static boolean isTrue(Condition condition) {
+        return condition == TRUE || condition instanceof QOM.True;
+    }
+
+    public static boolean isFalse(Condition condition) {
+        return condition == FALSE || condition instanceof QOM.False;
+    }
+}
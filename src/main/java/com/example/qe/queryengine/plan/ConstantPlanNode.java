@@ -0,0 +1,19 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.Condition;
+
+/**
+ * A predicate known at compile time to always or never match, e.g. a contradictory range such as
+ * {@code x > 10 AND x < 5}. A FALSE root lets the service return an empty result without querying.
+ */
+public record ConstantPlanNode(boolean value) implements PlanNode {
+
+    public static final ConstantPlanNode TRUE = new ConstantPlanNode(true);
+    public static final ConstantPlanNode FALSE = new ConstantPlanNode(false);
+
+    @Override
+    public Condition bind(EvaluationContext context) {
+        return ConstantConditions.of(value);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.Placeholder;
+import com.example.qe.queryengine.query.ValueNormalizer;
+import com.example.qe.queryengine.query.ValueType;
+import lombok.Getter;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiled field predicate with its operator already resolved and type-checked.
+ * The value is either a normalized constant, a {@link Placeholder} bound per request,
+ * or a list of those for multi-value operators such as {@code in}.
+ */
+@Getter
+public final class FieldPlanNode implements PlanNode {
+
+    private final Field<?> field;
+    private final String operatorName;
+    private final GenericOperator operator;
+    private final ValueType valueType;
+    private final Object value;
+
+    public FieldPlanNode(Field<?> field, String operatorName, GenericOperator operator, ValueType valueType, Object value) {
+        this.field = field;
+        this.operatorName = operatorName;
+        this.operator = operator;
+        this.valueType = valueType;
+        this.value = value;
+    }
+
+    public String getColumn() {
+        return field.getName();
+    }
+
+    /**
+     * Placeholder values are bound as named parameters (e.g. "me" for "[me]"), so all users running
+     * the same plan render the same SQL text and only differ in bind values.
+     */
+    @Override
+    public Condition bind(EvaluationContext context) {
+        Object boundValue = bindValue(context);
+        if (value instanceof Placeholder placeholder && boundValue != null) {
+            return operator.applyParam(field, DSL.param(parameterName(placeholder), boundValue), context);
+        }
+        return operator.apply(field, boundValue, context);
+    }
+
+    static String parameterName(Placeholder placeholder) {
+        String name = placeholder.name();
+        return name.substring(1, name.length() - 1);
+    }
+
+    Object bindValue(EvaluationContext context) {
+        if (value instanceof List<?> values) {
+            return values.stream().map(element -> bindElement(element, context)).toList();
+        }
+        return bindElement(value, context);
+    }
+
+    private Object bindElement(Object element, EvaluationContext context) {
+        if (!(element instanceof Placeholder placeholder)) {
+            return element;
+        }
+        Object resolved = ValueNormalizer.normalize(context.resolve(placeholder.name()), valueType);
+        if (resolved != null && !valueType.getClazz().isInstance(resolved)) {
+            throw new InvalidQueryException("Value is not of the expected type: " + valueType.getClazz().getName());
+        }
+        return resolved;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FieldPlanNode other
+                && field.getName().equals(other.field.getName())
+                && field.getType() == other.field.getType()
+                && operatorName.equals(other.operatorName)
+                && valueType == other.valueType
+                && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(field.getName(), operatorName, valueType, value);
+    }
+}
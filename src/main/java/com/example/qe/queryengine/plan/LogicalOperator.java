@@ -0,0 +1,6 @@
+package com.example.qe.queryengine.plan;
+
+public enum LogicalOperator {
+    AND,
+    OR
+}
@@ -0,0 +1,13 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.Condition;
+
+/**
+ * A node of a compiled {@link QueryPlan}. Nodes are immutable and shared between requests;
+ * request-specific placeholder values and the clock snapshot are only supplied when binding.
+ */
+public interface PlanNode {
+
+    Condition bind(EvaluationContext context);
+}
@@ -0,0 +1,177 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.query.ValueType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rewrites applied to the children of a composite node while compiling: flattening nested
+ * composites of the same kind, dropping duplicates, merging range predicates on the same column
+ * and folding constants, so the database only sees the simplified predicate.
+ */
+final class PlanNormalizer {
+
+    private static final Set<String> RANGE_OPERATORS =
+            Set.of("equals", "greaterThan", "greaterThanEqual", "lessThan", "lessThanEqual");
+
+    private PlanNormalizer() {}
+
+    /**
+     * Splices the children of nested composites with the same logical operator into the parent,
+     * e.g. {@code a AND (b AND c)} becomes {@code a AND b AND c}.
+     */
+    static List<PlanNode> flatten(LogicalOperator logicalOperator, List<PlanNode> children) {
+        List<PlanNode> flattened = new ArrayList<>(children.size());
+        for (PlanNode child : children) {
+            if (child instanceof CompositePlanNode composite && composite.getLogicalOperator() == logicalOperator) {
+                flattened.addAll(composite.getChildren());
+            } else {
+                flattened.add(child);
+            }
+        }
+        return flattened;
+    }
+
+    static List<PlanNode> deduplicate(List<PlanNode> children) {
+        return new ArrayList<>(new LinkedHashSet<>(children));
+    }
+
+    /**
+     * Replaces the constant comparisons on each numeric or date column of a conjunction with the
+     * tightest lower and upper bound, or with FALSE when the bounds cannot both hold.
+     */
+    static List<PlanNode> mergeRanges(List<PlanNode> children) {
+        Map<String, ColumnRange> ranges = new LinkedHashMap<>();
+        for (PlanNode child : children) {
+            if (child instanceof FieldPlanNode fieldNode && isRangeComparison(fieldNode)) {
+                ranges.computeIfAbsent(fieldNode.getColumn() + ':' + fieldNode.getValueType(), k -> new ColumnRange())
+                        .add(fieldNode);
+            }
+        }
+
+        List<PlanNode> merged = new ArrayList<>(children.size());
+        Set<ColumnRange> emitted = new LinkedHashSet<>();
+        for (PlanNode child : children) {
+            if (!(child instanceof FieldPlanNode fieldNode) || !isRangeComparison(fieldNode)) {
+                merged.add(child);
+                continue;
+            }
+            ColumnRange range = ranges.get(fieldNode.getColumn() + ':' + fieldNode.getValueType());
+            if (!emitted.add(range)) {
+                continue;
+            }
+            List<FieldPlanNode> bounds = range.bounds();
+            if (bounds.isEmpty()) {
+                return List.of(ConstantPlanNode.FALSE);
+            }
+            merged.addAll(bounds);
+        }
+        return merged;
+    }
+
+    /**
+     * Folds constant children and unwraps composites left with a single child.
+     */
+    static PlanNode combine(LogicalOperator logicalOperator, List<PlanNode> children) {
+        boolean conjunction = logicalOperator == LogicalOperator.AND;
+        List<PlanNode> remaining = new ArrayList<>(children.size());
+        for (PlanNode child : children) {
+            if (child instanceof ConstantPlanNode constant) {
+                if (constant.value() != conjunction) {
+                    return constant;
+                }
+            } else {
+                remaining.add(child);
+            }
+        }
+        if (remaining.isEmpty()) {
+            return new ConstantPlanNode(conjunction);
+        }
+        return remaining.size() == 1 ? remaining.get(0) : new CompositePlanNode(logicalOperator, remaining);
+    }
+
+    private static boolean isRangeComparison(FieldPlanNode node) {
+        return RANGE_OPERATORS.contains(node.getOperatorName())
+                && (node.getValueType() == ValueType.NUMERIC || node.getValueType() == ValueType.DATE)
+                && node.getValue() instanceof Comparable<?>
+                && node.getField().getType().isInstance(node.getValue());
+    }
+
+    /**
+     * Tightest bounds seen for one column. {@link #bounds()} returns the predicates still needed,
+     * or an empty list when the column cannot satisfy all of them.
+     */
+    private static final class ColumnRange {
+
+        private FieldPlanNode lower;
+        private FieldPlanNode upper;
+        private FieldPlanNode equal;
+        private boolean contradiction;
+
+        void add(FieldPlanNode node) {
+            switch (node.getOperatorName()) {
+                case "equals" -> {
+                    if (equal != null && compare(equal, node) != 0) {
+                        contradiction = true;
+                    }
+                    equal = node;
+                }
+                case "greaterThan", "greaterThanEqual" -> {
+                    int c = lower == null ? -1 : compare(lower, node);
+                    if (c < 0 || (c == 0 && isExclusive(node))) {
+                        lower = node;
+                    }
+                }
+                default -> {
+                    int c = upper == null ? 1 : compare(upper, node);
+                    if (c > 0 || (c == 0 && isExclusive(node))) {
+                        upper = node;
+                    }
+                }
+            }
+        }
+
+        List<FieldPlanNode> bounds() {
+            if (contradiction) {
+                return List.of();
+            }
+            if (equal != null) {
+                boolean aboveLower = lower == null || satisfies(compare(equal, lower), lower, 1);
+                boolean belowUpper = upper == null || satisfies(compare(equal, upper), upper, -1);
+                return aboveLower && belowUpper ? List.of(equal) : List.of();
+            }
+            if (lower != null && upper != null) {
+                int c = compare(lower, upper);
+                if (c > 0 || (c == 0 && (isExclusive(lower) || isExclusive(upper)))) {
+                    return List.of();
+                }
+            }
+            List<FieldPlanNode> bounds = new ArrayList<>(2);
+            if (lower != null) {
+                bounds.add(lower);
+            }
+            if (upper != null) {
+                bounds.add(upper);
+            }
+            return bounds;
+        }
+
+        private static boolean satisfies(int comparison, FieldPlanNode bound, int direction) {
+            return comparison == direction || (comparison == 0 && !isExclusive(bound));
+        }
+
+        private static boolean isExclusive(FieldPlanNode node) {
+            return node.getOperatorName().equals("greaterThan") || node.getOperatorName().equals("lessThan");
+        }
+
+        @SuppressWarnings("unchecked")
+        private static int compare(FieldPlanNode a, FieldPlanNode b) {
+            return Integer.signum(((Comparable<Object>) a.getValue()).compareTo(b.getValue()));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.ValueType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Many bound plans compiled into one shared network of predicates, in the manner of a Rete network:
+ * identical field predicates and identical AND/OR nodes across all plans are hash-consed into a single
+ * node, and an {@link Evaluation} evaluates each node at most once per row. Evaluating thousands of rules
+ * that share prefixes such as {@code is_active = true AND department = X} therefore costs in proportion
+ * to the distinct predicates reached, not to the total size of the rules.
+ * <p>
+ * Nodes are shared on their bound form: a field predicate is identified by its column, operator and
+ * resolved value, so "[me]" shares a node only between rules of the same user. Run conditions are folded
+ * while building, and AND/OR children are deduplicated and ordered, so {@code a AND b} and {@code b AND a}
+ * are the same node. A network is bound for one day, like the predicates of {@link RowPredicateCompiler}.
+ * Once built it is immutable and can be evaluated from several threads, each with its own evaluation.
+ */
+public final class PredicateNetwork<R> {
+
+    static final int FALSE = 0;
+    static final int TRUE = 1;
+
+    private final RowAccessor<R> accessor;
+    // Children always precede their parents
+    private final Node[] nodes;
+
+    private PredicateNetwork(RowAccessor<R> accessor, List<Node> nodes) {
+        this.accessor = accessor;
+        this.nodes = nodes.toArray(Node[]::new);
+    }
+
+    /**
+     * The number of distinct nodes, including the two constants.
+     */
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * Returns reusable per-thread state for evaluating rows against this network.
+     */
+    public Evaluation newEvaluation() {
+        return new Evaluation();
+    }
+
+    /**
+     * Memoized evaluation of the network's nodes for the current row. Nodes are evaluated on demand,
+     * so short-circuiting still skips the rest of an AND or OR, and moving to the next row is O(1).
+     * Not thread-safe.
+     */
+    public final class Evaluation {
+
+        private final int[] stamps = new int[nodes.length];
+        private final boolean[] results = new boolean[nodes.length];
+        private int generation;
+        private R row;
+
+        private Evaluation() {
+        }
+
+        public Evaluation reset(R row) {
+            this.row = row;
+            if (++generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+            return this;
+        }
+
+        /**
+         * Whether the current row matches the rule whose root was returned by {@link Builder#add}.
+         */
+        public boolean test(int node) {
+            if (stamps[node] == generation) {
+                return results[node];
+            }
+            boolean result = evaluate(nodes[node]);
+            stamps[node] = generation;
+            results[node] = result;
+            return result;
+        }
+
+        private boolean evaluate(Node node) {
+            if (node instanceof Leaf leaf) {
+                return leaf.matcher().test(accessor.get(row, leaf.column()));
+            }
+            if (node instanceof Junction junction) {
+                boolean conjunction = junction.conjunction();
+                for (int child : junction.children()) {
+                    if (test(child) != conjunction) {
+                        return !conjunction;
+                    }
+                }
+                return conjunction;
+            }
+            return ((Constant) node).value();
+        }
+    }
+
+    /**
+     * Compiles plans into a network. Obtained from {@link RowPredicateCompiler#networkBuilder}; not thread-safe.
+     */
+    public static final class Builder<R> {
+
+        private final RowPredicateCompiler compiler;
+        private final RowAccessor<R> accessor;
+        private final List<Node> nodes = new ArrayList<>();
+        private final Map<Object, Integer> ids = new HashMap<>();
+
+        Builder(RowPredicateCompiler compiler, RowAccessor<R> accessor) {
+            this.compiler = compiler;
+            this.accessor = accessor;
+            nodes.add(new Constant(false));
+            nodes.add(new Constant(true));
+        }
+
+        /**
+         * Binds the plan with the context and adds it to the network, reusing the nodes it shares with
+         * plans added before. Returns the id of its root node, to pass to {@link Evaluation#test}.
+         */
+        public int add(QueryPlan plan, EvaluationContext context) {
+            return add(plan.getRoot(), context);
+        }
+
+        public PredicateNetwork<R> build() {
+            return new PredicateNetwork<>(accessor, nodes);
+        }
+
+        private int add(PlanNode node, EvaluationContext context) {
+            if (node instanceof CompositePlanNode composite) {
+                return addJunction(composite, context);
+            }
+            if (node instanceof FieldPlanNode fieldNode) {
+                Object boundValue = fieldNode.bindValue(context);
+                LeafKey key = new LeafKey(fieldNode.getColumn(), ValueType.fromClass(fieldNode.getField().getType()),
+                        fieldNode.getOperatorName(), fieldNode.getValueType(), boundValue);
+                Integer id = ids.get(key);
+                return id != null ? id
+                        : intern(key, new Leaf(fieldNode.getColumn(), compiler.matcher(fieldNode, boundValue, context)));
+            }
+            if (node instanceof RunConditionPlanNode || node instanceof ConstantPlanNode) {
+                return ConstantConditions.isTrue(node.bind(context)) ? TRUE : FALSE;
+            }
+            throw new InvalidQueryException("Unsupported plan node: " + node.getClass().getSimpleName());
+        }
+
+        /**
+         * Folds constant children as {@link CompositePlanNode#bind} does: a FALSE child makes an AND false
+         * and a TRUE child makes an OR true, while neutral constants are dropped.
+         */
+        private int addJunction(CompositePlanNode composite, EvaluationContext context) {
+            boolean conjunction = composite.getLogicalOperator() == LogicalOperator.AND;
+            int absorbing = conjunction ? FALSE : TRUE;
+            int neutral = conjunction ? TRUE : FALSE;
+            int[] children = new int[composite.getChildren().size()];
+            int count = 0;
+            for (PlanNode child : composite.getChildren()) {
+                int id = add(child, context);
+                if (id == absorbing) {
+                    return absorbing;
+                }
+                if (id != neutral) {
+                    children[count++] = id;
+                }
+            }
+            children = Arrays.stream(children, 0, count).sorted().distinct().toArray();
+            if (children.length == 0) {
+                return neutral;
+            }
+            if (children.length == 1) {
+                return children[0];
+            }
+            JunctionKey key = new JunctionKey(conjunction, Arrays.stream(children).boxed().toList());
+            Integer id = ids.get(key);
+            return id != null ? id : intern(key, new Junction(conjunction, children));
+        }
+
+        private int intern(Object key, Node node) {
+            int id = nodes.size();
+            nodes.add(node);
+            ids.put(key, id);
+            return id;
+        }
+    }
+
+    private sealed interface Node permits Constant, Leaf, Junction {
+    }
+
+    private record Constant(boolean value) implements Node {
+    }
+
+    private record Leaf(String column, Predicate<Object> matcher) implements Node {
+    }
+
+    private record Junction(boolean conjunction, int[] children) implements Node {
+    }
+
+    private record LeafKey(String column, ValueType fieldType, String operatorName, ValueType valueType, Object value) {
+    }
+
+    private record JunctionKey(boolean conjunction, List<Integer> children) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.query.EvaluationContext;
+import lombok.Getter;
+import org.jooq.Condition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A parsed, validated and operator-resolved query that can be cached and shared between requests.
+ * Binding supplies the request's placeholder values and produces the jOOQ condition to execute.
+ */
+@Getter
+public final class QueryPlan {
+
+    private final PlanNode root;
+    private final Set<String> placeholders;
+    // Operator of every field predicate and run condition, once per occurrence, for usage metrics
+    private final List<String> operatorNames;
+
+    public QueryPlan(PlanNode root, Set<String> placeholders) {
+        this.root = root;
+        this.placeholders = Set.copyOf(placeholders);
+        List<String> names = new ArrayList<>();
+        collectOperatorNames(root, names);
+        this.operatorNames = List.copyOf(names);
+    }
+
+    public Condition bind(Map<String, String> placeholderValues) {
+        return bind(EvaluationContext.of(placeholderValues));
+    }
+
+    public Condition bind(EvaluationContext context) {
+        return root.bind(context);
+    }
+
+    private static void collectOperatorNames(PlanNode node, List<String> names) {
+        if (node instanceof CompositePlanNode composite) {
+            composite.getChildren().forEach(child -> collectOperatorNames(child, names));
+        } else if (node instanceof FieldPlanNode fieldNode) {
+            names.add(fieldNode.getOperatorName());
+        } else if (node instanceof RunConditionPlanNode runCondition) {
+            names.add(runCondition.getOperatorName());
+        }
+    }
+}
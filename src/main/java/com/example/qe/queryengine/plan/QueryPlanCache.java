@@ -0,0 +1,73 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.helper.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of compiled plans keyed by the whitespace-normalized, unresolved query JSON,
+ * so every user running the same saved filter shares one plan.
+ */
+@Component
+public class QueryPlanCache {
+
+    private final boolean enabled;
+    private final BoundedCache<String, QueryPlan> cache;
+
+    public QueryPlanCache(@Value("${queryengine.plan-cache.enabled:true}") boolean enabled,
+                          @Value("${queryengine.plan-cache.max-size:1000}") int maxSize,
+                          @Value("${queryengine.plan-cache.ttl:30m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public QueryPlan getOrCompile(String json, Function<String, QueryPlan> compiler) {
+        return cache.getOrLoad(normalize(json), key -> compiler.apply(json));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public BoundedCache.Stats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Strips insignificant whitespace outside string literals so formatting differences share a cache entry.
+     */
+    public static String normalize(String json) {
+        if (json == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(json.length());
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                normalized.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+                normalized.append(c);
+            } else if (!Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+}
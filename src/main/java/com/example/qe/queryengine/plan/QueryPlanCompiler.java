@@ -0,0 +1,197 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.operator.SargableOperator;
+import com.example.qe.queryengine.query.CompositeQuery;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.FieldQuery;
+import com.example.qe.queryengine.query.JavaQuery;
+import com.example.qe.queryengine.query.Placeholder;
+import com.example.qe.queryengine.query.Query;
+import com.example.qe.queryengine.query.impl.OrQuery;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Param;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles a validated {@link Query} tree into a {@link QueryPlan}, resolving and type-checking
+ * every operator once so that executing the plan again only needs placeholder values.
+ * With {@code queryengine.optimizer.sargable-dates} enabled, date operators that support it are
+ * compiled to range predicates on the raw column instead of wrapping it in CAST/YEAR.
+ */
+@Component
+public class QueryPlanCompiler {
+
+    private static final String EQUALS_OPERATOR = "equals";
+    private static final String IN_OPERATOR = "in";
+
+    private final OperatorFactory operatorFactory;
+    private final boolean sargableDates;
+
+    public QueryPlanCompiler(OperatorFactory operatorFactory,
+                             @Value("${queryengine.optimizer.sargable-dates:false}") boolean sargableDates) {
+        this.operatorFactory = operatorFactory;
+        this.sargableDates = sargableDates;
+    }
+
+    public QueryPlan compile(Query query) {
+        Set<String> placeholders = new HashSet<>();
+        PlanNode root = compileNode(query, placeholders);
+        return new QueryPlan(root, placeholders);
+    }
+
+    private PlanNode compileNode(Query query, Set<String> placeholders) {
+        if (query instanceof CompositeQuery composite) {
+            return compileComposite(composite, placeholders);
+        }
+        if (query instanceof FieldQuery fieldQuery) {
+            return compileField(fieldQuery, placeholders);
+        }
+        if (query instanceof JavaQuery javaQuery) {
+            return compileRunCondition(javaQuery, placeholders);
+        }
+        throw new InvalidQueryException("Unsupported query type: " + query.getClass().getSimpleName());
+    }
+
+    private PlanNode compileComposite(CompositeQuery composite, Set<String> placeholders) {
+        LogicalOperator logicalOperator = composite instanceof OrQuery ? LogicalOperator.OR : LogicalOperator.AND;
+        if (composite.getChildren().isEmpty()) {
+            throw new InvalidQueryException(composite.getClass().getSimpleName() + " requires at least one child");
+        }
+        List<PlanNode> children = composite.getChildren().stream()
+                .map(child -> compileNode(child, placeholders))
+                .toList();
+        children = PlanNormalizer.deduplicate(PlanNormalizer.flatten(logicalOperator, children));
+        children = logicalOperator == LogicalOperator.AND
+                ? PlanNormalizer.mergeRanges(children)
+                : mergeEqualities(children);
+        return PlanNormalizer.combine(logicalOperator, children);
+    }
+
+    /**
+     * Collapses OR-ed equality checks against constants on the same column into a single IN predicate,
+     * e.g. {@code status = 'A' OR status = 'B'} becomes {@code status IN ('A', 'B')}.
+     * Constant IN predicates from flattened children are merged too; placeholder and null
+     * comparisons keep their own predicates.
+     */
+    private List<PlanNode> mergeEqualities(List<PlanNode> children) {
+        Map<String, List<FieldPlanNode>> equalitiesByColumn = new LinkedHashMap<>();
+        for (PlanNode child : children) {
+            if (child instanceof FieldPlanNode fieldNode && constantValues(fieldNode) != null) {
+                equalitiesByColumn.computeIfAbsent(columnKey(fieldNode), k -> new ArrayList<>()).add(fieldNode);
+            }
+        }
+
+        List<PlanNode> merged = new ArrayList<>(children.size());
+        Set<String> mergedColumns = new HashSet<>();
+        for (PlanNode child : children) {
+            if (!(child instanceof FieldPlanNode fieldNode) || constantValues(fieldNode) == null) {
+                merged.add(child);
+                continue;
+            }
+            String key = columnKey(fieldNode);
+            List<FieldPlanNode> equalities = equalitiesByColumn.get(key);
+            if (equalities.size() == 1) {
+                merged.add(child);
+            } else if (mergedColumns.add(key)) {
+                merged.add(toInNode(equalities));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * The constant values an equals or in predicate matches, or null if it is not such a predicate.
+     */
+    private static List<?> constantValues(FieldPlanNode node) {
+        Object value = node.getValue();
+        if (EQUALS_OPERATOR.equals(node.getOperatorName())) {
+            return value == null || value instanceof Placeholder || value instanceof List<?> ? null : List.of(value);
+        }
+        if (IN_OPERATOR.equals(node.getOperatorName()) && value instanceof List<?> values
+                && values.stream().allMatch(v -> v != null && !(v instanceof Placeholder))) {
+            return values;
+        }
+        return null;
+    }
+
+    private static String columnKey(FieldPlanNode node) {
+        return node.getColumn() + ':' + node.getField().getType().getName() + ':' + node.getValueType();
+    }
+
+    private FieldPlanNode toInNode(List<FieldPlanNode> equalities) {
+        FieldPlanNode first = equalities.get(0);
+        GenericOperator operator = operatorFactory.resolve(IN_OPERATOR, first.getField().getType(), first.getValueType().getClazz());
+        List<Object> values = equalities.stream()
+                .flatMap(node -> constantValues(node).stream())
+                .map(Object.class::cast)
+                .distinct()
+                .toList();
+        return new FieldPlanNode(first.getField(), IN_OPERATOR, operator, first.getValueType(), values);
+    }
+
+    private PlanNode compileField(FieldQuery fieldQuery, Set<String> placeholders) {
+        GenericOperator operator = fieldQuery.resolveOperator(operatorFactory);
+        if (sargableDates && operator instanceof SargableOperator sargableOperator) {
+            operator = asRangeOperator(sargableOperator);
+        }
+        Object value = fieldQuery.getValue();
+
+        List<?> elements = value instanceof List<?> values ? values : Collections.singletonList(value);
+        for (Object element : elements) {
+            if (element instanceof Placeholder placeholder) {
+                placeholders.add(placeholder.name());
+            } else if (!fieldQuery.getValueType().accepts(element)) {
+                throw new InvalidQueryException("Value is not of the expected type: " + fieldQuery.getValueType().getClazz().getName());
+            }
+        }
+        return new FieldPlanNode(fieldQuery.toField(), fieldQuery.getOperator(), operator, fieldQuery.getValueType(), value);
+    }
+
+    private PlanNode compileRunCondition(JavaQuery javaQuery, Set<String> placeholders) {
+        RunConditionOperator operator = javaQuery.resolveOperator(operatorFactory);
+        if (Placeholder.isPlaceholder(javaQuery.getPlaceholder())) {
+            placeholders.add(javaQuery.getPlaceholder());
+        }
+        if (javaQuery.getValue() instanceof Placeholder placeholder) {
+            placeholders.add(placeholder.name());
+        }
+        return new RunConditionPlanNode(javaQuery.getPlaceholder(), javaQuery.getOperator(), operator,
+                javaQuery.getValueType(), javaQuery.getValue());
+    }
+
+    /**
+     * Adapts a sargable operator so that binding renders its range form, passing the request context through.
+     */
+    private static GenericOperator asRangeOperator(SargableOperator sargableOperator) {
+        return new GenericOperator() {
+            @Override
+            public Condition apply(Field<?> field, Object value) {
+                return sargableOperator.applySargable(field, value);
+            }
+
+            @Override
+            public Condition apply(Field<?> field, Object value, EvaluationContext context) {
+                return sargableOperator.applySargable(field, value, context);
+            }
+
+            @Override
+            public Condition applyParam(Field<?> field, Param<?> param, EvaluationContext context) {
+                return sargableOperator.applySargable(field, param.getValue(), context);
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.qe.queryengine.plan;
+
+import org.jooq.Record;
+
+import java.util.Map;
+
+/**
+ * Reads a column value from a row for in-memory evaluation, e.g. from a cached jOOQ record
+ * or a message payload. Missing columns read as null.
+ */
+@FunctionalInterface
+public interface RowAccessor<R> {
+
+    Object get(R row, String column);
+
+    static RowAccessor<Map<String, ?>> ofMap() {
+        return Map::get;
+    }
+
+    static RowAccessor<Record> ofRecord() {
+        return (row, column) -> {
+            int index = row.indexOf(column);
+            return index < 0 ? null : row.get(index);
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.helper.RowValues;
+import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.InMemoryOperator;
+import com.example.qe.queryengine.operator.OperatorDispatchTable;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.ValueType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Compiles a {@link QueryPlan} into a Java predicate over rows, as a second target next to the jOOQ
+ * condition, so cached datasets and message payloads can be filtered without a database round trip.
+ * Placeholders, the current date and run conditions are bound once while compiling; each field
+ * predicate looks its column up once per row and delegates to the operator's {@link InMemoryOperator} matcher.
+ * <p>
+ * Operators compare strings ordinally, as a binary collation does. SQL Server's default collations are
+ * case-insensitive, so with {@code ignoreCase} set, string operands and row values of string columns are
+ * lower-cased before they reach the matcher. Other collation rules, such as accent insensitivity or
+ * ignoring trailing spaces, are not emulated.
+ */
+@Component
+public class RowPredicateCompiler {
+
+    private final OperatorFactory operatorFactory;
+    private final boolean ignoreCase;
+
+    public RowPredicateCompiler(OperatorFactory operatorFactory,
+                                @Value("${queryengine.in-memory.ignore-case:true}") boolean ignoreCase) {
+        this.operatorFactory = operatorFactory;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Whether strings are matched ignoring case, like a case-insensitive collation.
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    public <R> Predicate<R> compile(QueryPlan plan, RowAccessor<R> accessor, EvaluationContext context) {
+        return compileNode(plan.getRoot(), accessor, context);
+    }
+
+    /**
+     * Starts a {@link PredicateNetwork} into which many plans can be compiled, sharing their common predicates.
+     */
+    public <R> PredicateNetwork.Builder<R> networkBuilder(RowAccessor<R> accessor) {
+        return new PredicateNetwork.Builder<>(this, accessor);
+    }
+
+    private <R> Predicate<R> compileNode(PlanNode node, RowAccessor<R> accessor, EvaluationContext context) {
+        if (node instanceof CompositePlanNode composite) {
+            return compileComposite(composite, accessor, context);
+        }
+        if (node instanceof FieldPlanNode fieldNode) {
+            return compileField(fieldNode, accessor, context);
+        }
+        if (node instanceof RunConditionPlanNode || node instanceof ConstantPlanNode) {
+            boolean matches = ConstantConditions.isTrue(node.bind(context));
+            return row -> matches;
+        }
+        throw new InvalidQueryException("Unsupported plan node: " + node.getClass().getSimpleName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> Predicate<R> compileComposite(CompositePlanNode composite, RowAccessor<R> accessor, EvaluationContext context) {
+        List<PlanNode> children = composite.getChildren();
+        Predicate<R>[] predicates = (Predicate<R>[]) new Predicate<?>[children.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            predicates[i] = compileNode(children.get(i), accessor, context);
+        }
+        if (composite.getLogicalOperator() == LogicalOperator.AND) {
+            return row -> {
+                for (Predicate<R> predicate : predicates) {
+                    if (!predicate.test(row)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+        return row -> {
+            for (Predicate<R> predicate : predicates) {
+                if (predicate.test(row)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    private <R> Predicate<R> compileField(FieldPlanNode fieldNode, RowAccessor<R> accessor, EvaluationContext context) {
+        Predicate<Object> matcher = matcher(fieldNode, fieldNode.bindValue(context), context);
+        String column = fieldNode.getColumn();
+        return row -> matcher.test(accessor.get(row, column));
+    }
+
+    Predicate<Object> matcher(FieldPlanNode fieldNode, Object boundValue, EvaluationContext context) {
+        InMemoryOperator operator = inMemoryOperator(fieldNode);
+        if (!foldsCase(fieldNode)) {
+            return operator.matcher(fieldNode.getField(), boundValue, context);
+        }
+        Predicate<Object> matcher = operator.matcher(fieldNode.getField(), foldCase(boundValue), context);
+        return fieldValue -> matcher.test(fieldValue == null ? null : RowValues.foldCase(RowValues.toText(fieldValue)));
+    }
+
+    private boolean foldsCase(FieldPlanNode fieldNode) {
+        return ignoreCase && fieldNode.getValueType() == ValueType.STRING
+                && ValueType.fromClass(fieldNode.getField().getType()) == ValueType.STRING;
+    }
+
+    private static Object foldCase(Object value) {
+        if (value instanceof String text) {
+            return RowValues.foldCase(text);
+        }
+        if (value instanceof List<?> values) {
+            return values.stream().map(RowPredicateCompiler::foldCase).toList();
+        }
+        return value;
+    }
+
+    /**
+     * Looks the operator up by name, since the plan node may hold an adapter such as the sargable range form.
+     */
+    private InMemoryOperator inMemoryOperator(FieldPlanNode fieldNode) {
+        OperatorDispatchTable dispatchTable = operatorFactory.dispatchTable();
+        GenericOperator operator = dispatchTable.get(dispatchTable.idOf(fieldNode.getOperatorName()),
+                ValueType.fromClass(fieldNode.getField().getType()), fieldNode.getValueType());
+        if (!(operator instanceof InMemoryOperator inMemoryOperator)) {
+            throw new InvalidQueryException("Operator " + fieldNode.getOperatorName() + " cannot be evaluated in memory");
+        }
+        return inMemoryOperator;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.operator.RunConditionOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.Placeholder;
+import com.example.qe.queryengine.query.ValueNormalizer;
+import com.example.qe.queryengine.query.ValueType;
+import lombok.Getter;
+import org.jooq.Condition;
+
+import java.util.Objects;
+
+/**
+ * Compiled Java-side run condition. The subject is either a literal or a placeholder such as "[today]".
+ * Binding evaluates it in Java and folds it into a constant TRUE/FALSE condition.
+ */
+@Getter
+public final class RunConditionPlanNode implements PlanNode {
+
+    private final String subject;
+    private final String operatorName;
+    private final RunConditionOperator operator;
+    private final ValueType valueType;
+    private final Object value;
+
+    public RunConditionPlanNode(String subject, String operatorName, RunConditionOperator operator, ValueType valueType, Object value) {
+        this.subject = subject;
+        this.operatorName = operatorName;
+        this.operator = operator;
+        this.valueType = valueType;
+        this.value = value;
+    }
+
+    @Override
+    public Condition bind(EvaluationContext context) {
+        String boundSubject = Placeholder.isPlaceholder(subject) ? context.resolve(subject) : subject;
+        Object boundValue = value instanceof Placeholder placeholder
+                ? ValueNormalizer.normalize(context.resolve(placeholder.name()), valueType)
+                : value;
+        return ConstantConditions.of(operator.test(boundSubject, valueType.getClazz().cast(boundValue), context));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof RunConditionPlanNode other
+                && Objects.equals(subject, other.subject)
+                && operatorName.equals(other.operatorName)
+                && valueType == other.valueType
+                && Objects.equals(value, other.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subject, operatorName, valueType, value);
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.qe.queryengine.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Generates {@code GeneratedOperatorIndex} and {@code GeneratedReplaceableIndex} from the
+ * {@code @OperatorAnnotation} and {@code @ReplaceableAnnotation} classes in the impl packages,
+ * so startup registration needs neither classpath scanning nor reflective instantiation.
+ * Only refers to the engine types by name, as it is compiled ahead of the rest of the module.
+ * Each index lists the classes it registers in an {@code INDEXED_CLASSES} constant, so that an incremental
+ * compile, which only passes the recompiled classes through the processor, keeps the previously indexed ones.
+ */
+@SupportedAnnotationTypes({
+        RegistryIndexProcessor.OPERATOR_ANNOTATION,
+        RegistryIndexProcessor.REPLACEABLE_ANNOTATION
+})
+public class RegistryIndexProcessor extends AbstractProcessor {
+
+    static final String OPERATOR_ANNOTATION = "com.example.qe.queryengine.operator.OperatorAnnotation";
+    static final String REPLACEABLE_ANNOTATION = "com.example.qe.queryengine.replaceable.ReplaceableAnnotation";
+
+    private static final String OPERATOR_PACKAGE = "com.example.qe.queryengine.operator";
+    private static final String REPLACEABLE_PACKAGE = "com.example.qe.queryengine.replaceable";
+    private static final String OPERATOR_INDEX = "GeneratedOperatorIndex";
+    private static final String REPLACEABLE_INDEX = "GeneratedReplaceableIndex";
+    static final String INDEXED_CLASSES = "INDEXED_CLASSES";
+
+    private final Map<String, String> operatorRegistrations = new TreeMap<>();
+    private final Map<String, String> replaceableRegistrations = new TreeMap<>();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private boolean written;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            String annotationName = annotation.getQualifiedName().toString();
+            for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(annotation))) {
+                if (OPERATOR_ANNOTATION.equals(annotationName) && isIndexed(type, OPERATOR_PACKAGE)) {
+                    collectOperator(type, annotationMirror(type, annotationName));
+                } else if (REPLACEABLE_ANNOTATION.equals(annotationName) && isIndexed(type, REPLACEABLE_PACKAGE)) {
+                    collectReplaceable(type, annotationMirror(type, annotationName));
+                }
+            }
+        }
+
+        // Everything annotated is part of the first round; later rounds only see the generated indexes
+        if (!written && !roundEnv.processingOver()
+                && !(operatorRegistrations.isEmpty() && replaceableRegistrations.isEmpty())) {
+            written = true;
+            if (!operatorRegistrations.isEmpty()) {
+                retainPrevious(OPERATOR_PACKAGE, OPERATOR_INDEX, OPERATOR_ANNOTATION, operatorRegistrations, this::collectOperator);
+                writeIndex(OPERATOR_PACKAGE, OPERATOR_INDEX, "OperatorIndex", "OperatorRegistry", operatorRegistrations);
+            }
+            if (!replaceableRegistrations.isEmpty()) {
+                retainPrevious(REPLACEABLE_PACKAGE, REPLACEABLE_INDEX, REPLACEABLE_ANNOTATION, replaceableRegistrations, this::collectReplaceable);
+                writeIndex(REPLACEABLE_PACKAGE, REPLACEABLE_INDEX, "ReplaceableIndex", "ReplaceableRegistry", replaceableRegistrations);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Mirrors the runtime scanners, which only look at the impl package below the annotation's package.
+     */
+    private boolean isIndexed(TypeElement type, String basePackage) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        return packageName.equals(basePackage + ".impl") && type.getKind() == ElementKind.CLASS;
+    }
+
+    /**
+     * Carries over the classes listed by the index of the previous build, found on the classpath, that were
+     * not part of this compile and are still annotated. A class recompiled without its annotation resolves
+     * to its new source and is dropped.
+     */
+    private void retainPrevious(String packageName, String className, String annotationName,
+                                Map<String, String> registrations, BiConsumer<TypeElement, AnnotationMirror> collector) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement previous = elements.getTypeElement(packageName + "." + className);
+        if (previous == null) {
+            return;
+        }
+        Object indexed = ElementFilter.fieldsIn(previous.getEnclosedElements()).stream()
+                .filter(field -> field.getSimpleName().contentEquals(INDEXED_CLASSES))
+                .map(VariableElement::getConstantValue)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse("");
+        for (String indexedClass : indexed.toString().split(",")) {
+            if (indexedClass.isEmpty() || registrations.containsKey(indexedClass)) {
+                continue;
+            }
+            TypeElement type = elements.getTypeElement(indexedClass);
+            if (type != null && isIndexed(type, packageName)) {
+                findAnnotationMirror(type, annotationName).ifPresent(mirror -> collector.accept(type, mirror));
+            }
+        }
+    }
+
+    private void collectOperator(TypeElement type, AnnotationMirror mirror) {
+        if (!isInstantiable(type, "Operator") || !isAssignable(type, OPERATOR_PACKAGE + ".GenericOperator")) {
+            return;
+        }
+        Map<String, AnnotationValue> values = annotationValues(mirror);
+        String registration = "registry.register(" + processingEnv.getElementUtils().getConstantExpression(values.get("value").getValue())
+                + ",\n                " + classArray(values.get("supportedFieldTypes"))
+                + ",\n                " + classArray(values.get("supportedValueTypes"))
+                + ",\n                new " + type.getQualifiedName() + "());";
+        operatorRegistrations.put(type.getQualifiedName().toString(), registration);
+        originatingElements.add(type);
+    }
+
+    private void collectReplaceable(TypeElement type, AnnotationMirror mirror) {
+        // The runtime scanner silently skips annotated classes that are not replaceables
+        if (!isAssignable(type, REPLACEABLE_PACKAGE + ".Replaceable")) {
+            return;
+        }
+        Map<String, AnnotationValue> values = annotationValues(mirror);
+        String placeholder = processingEnv.getElementUtils().getConstantExpression(values.get("value").getValue());
+        String registration;
+        if (Boolean.TRUE.equals(values.get("perRequest").getValue())) {
+            registration = "registry.register(" + placeholder + ", " + type.getQualifiedName() + ".class, true);";
+        } else if (isInstantiable(type, "Shared replaceable")) {
+            registration = "registry.register(" + placeholder + ", new " + type.getQualifiedName() + "());";
+        } else {
+            return;
+        }
+        replaceableRegistrations.put(type.getQualifiedName().toString(), registration);
+        originatingElements.add(type);
+    }
+
+    private boolean isInstantiable(TypeElement type, String description) {
+        boolean publicConcrete = type.getModifiers().contains(Modifier.PUBLIC) && !type.getModifiers().contains(Modifier.ABSTRACT);
+        boolean publicNoArgConstructor = ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC));
+        if (!publicConcrete || !publicNoArgConstructor) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    description + " must be a public concrete class with a public no-arg constructor", type);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isAssignable(TypeElement type, String supertypeName) {
+        TypeElement supertype = processingEnv.getElementUtils().getTypeElement(supertypeName);
+        return supertype == null
+                || processingEnv.getTypeUtils().isAssignable(type.asType(), processingEnv.getTypeUtils().erasure(supertype.asType()));
+    }
+
+    private String classArray(AnnotationValue value) {
+        @SuppressWarnings("unchecked")
+        List<? extends AnnotationValue> classes = (List<? extends AnnotationValue>) value.getValue();
+        return classes.stream()
+                .map(element -> processingEnv.getTypeUtils().erasure((TypeMirror) element.getValue()) + ".class")
+                .collect(Collectors.joining(", ", "new Class<?>[]{", "}"));
+    }
+
+    private Map<String, AnnotationValue> annotationValues(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> values = new TreeMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+        return values;
+    }
+
+    private static AnnotationMirror annotationMirror(TypeElement type, String annotationName) {
+        return findAnnotationMirror(type, annotationName).orElseThrow();
+    }
+
+    private static Optional<? extends AnnotationMirror> findAnnotationMirror(TypeElement type, String annotationName) {
+        return type.getAnnotationMirrors().stream()
+                .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName))
+                .findFirst();
+    }
+
+    private void writeIndex(String packageName, String className, String indexInterface, String registryClass,
+                            Map<String, String> registrations) {
+        String qualifiedName = packageName + "." + className;
+        try {
+            Writer writer = processingEnv.getFiler()
+                    .createSourceFile(qualifiedName, originatingElements.toArray(new Element[0]))
+                    .openWriter();
+            try (writer) {
+                writer.write("package " + packageName + ";\n\n");
+                writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+                writer.write("public final class " + className + " implements " + indexInterface + " {\n\n");
+                writer.write("    public static final String " + INDEXED_CLASSES + " = "
+                        + processingEnv.getElementUtils().getConstantExpression(String.join(",", registrations.keySet())) + ";\n\n");
+                writer.write("    @Override\n");
+                writer.write("    public void registerAll(" + registryClass + " registry) {\n");
+                for (String registration : registrations.values()) {
+                    writer.write("        " + registration + "\n");
+                }
+                writer.write("    }\n");
+                writer.write("}\n");
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write " + qualifiedName + ": " + ex.getMessage());
+        }
+    }
+}
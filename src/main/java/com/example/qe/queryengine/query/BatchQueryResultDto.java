@@ -0,0 +1,18 @@
+package com.example.qe.queryengine.query;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchQueryResultDto {
+    // Null when the query failed
+    List<Map<String, Object>> rows;
+    // Set instead of rows when the query failed; other queries in the batch are unaffected
+    String error;
+}
@@ -0,0 +1,56 @@
+package com.example.qe.queryengine.query;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Request-scoped state shared by replaceables and operators while a query is bound.
+ * Each distinct placeholder is resolved at most once, and {@link #getToday()} is a single clock snapshot
+ * so every date predicate in the request agrees on the current date, even across midnight.
+ * Not thread-safe; create one per request.
+ */
+@Getter
+public final class EvaluationContext {
+
+    private final QueryContextDto request;
+    private final LocalDate today;
+    private final BiFunction<String, EvaluationContext, String> placeholderResolver;
+    private final Map<String, String> resolvedPlaceholders = new HashMap<>();
+
+    public EvaluationContext(QueryContextDto request, LocalDate today,
+                             BiFunction<String, EvaluationContext, String> placeholderResolver) {
+        this.request = request;
+        this.today = today;
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    /**
+     * Context over already resolved placeholder values, using the current date.
+     */
+    public static EvaluationContext of(Map<String, String> placeholderValues) {
+        return new EvaluationContext(null, LocalDate.now(), (placeholder, context) -> placeholderValues.get(placeholder));
+    }
+
+    /**
+     * Context without placeholders for callers that are not bound to a request.
+     */
+    public static EvaluationContext now() {
+        return of(Map.of());
+    }
+
+    /**
+     * Resolves the placeholder on first use and returns the memoized value afterwards; null values are kept.
+     */
+    public String resolve(String placeholder) {
+        if (resolvedPlaceholders.containsKey(placeholder)) {
+            return resolvedPlaceholders.get(placeholder);
+        }
+        String value = placeholderResolver.apply(placeholder, this);
+        resolvedPlaceholders.put(placeholder, value);
+        return value;
+    }
+}
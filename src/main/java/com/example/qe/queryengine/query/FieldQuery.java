@@ -4,12 +4,17 @@ import com.example.qe.queryengine.exception.FieldTypeMismatchException;
 import com.example.qe.queryengine.exception.InvalidQueryException;
 import com.example.qe.queryengine.exception.OperatorNotFoundException;
 import com.example.qe.queryengine.operator.GenericOperator;
+import com.example.qe.queryengine.operator.MultiValueOperator;
+import com.example.qe.queryengine.operator.OperatorDispatchTable;
 import com.example.qe.queryengine.operator.OperatorFactory;
 import lombok.Getter;
 import lombok.Setter;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
+
+import java.util.List;
+
 import static org.jooq.impl.DSL.field;
 
 @Setter
@@ -33,24 +38,50 @@ public abstract class FieldQuery implements Query {
 
     @Override
     public Condition toCondition(DSLContext dsl, OperatorFactory operatorFactory) {
-        Field<?> field = field(column, getFieldClass());
-        Class<?> validValueType = operatorFactory.resolveValueType(operator, getFieldClass());
+        GenericOperator op = resolveOperator(operatorFactory);
+
+        if (value instanceof Placeholder placeholder) {
+            throw new InvalidQueryException("Unresolved placeholder: " + placeholder.name());
+        }
+        // Perform type checking to ensure value is of the correct type
+        if (!valueType.accepts(value)) {
+            throw new InvalidQueryException("Value is not of the expected type: " + valueType.getClazz().getName());
+        }
 
+        return op.apply(toField(), value);
+    }
+
+    /**
+     * Resolves the operator for this query's field and value types,
+     * enforcing that the value type is the one the operator expects for the field.
+     */
+    public GenericOperator resolveOperator(OperatorFactory operatorFactory) {
+        OperatorDispatchTable dispatchTable = operatorFactory.dispatchTable();
+        int operatorId = dispatchTable.idOf(operator);
+        ValueType fieldType = ValueType.fromClass(getFieldClass());
+
+        ValueType validValueType = dispatchTable.expectedValueType(operatorId, fieldType);
+        if (validValueType == null) {
+            throw new OperatorNotFoundException("No value types registered for operator: " + operator);
+        }
         // Perform type checking to enforce Operator compatibility
-        if (!validValueType.equals(valueType.getClazz())) {
+        if (validValueType != valueType) {
             throw new FieldTypeMismatchException("Value type " + valueType.name() + " is not supported for operator " + operator + " on field type " + getFieldClass().getName());
         }
-        GenericOperator op = operatorFactory.resolve(operator, getFieldClass(), valueType.getClazz());
+        GenericOperator op = dispatchTable.get(operatorId, fieldType, valueType);
         if (op == null) {
-            throw new OperatorNotFoundException("Unknown operator: " + operator);
+            throw new OperatorNotFoundException("Operator " + operator +
+                    " does not support field type " + getFieldClass().getName() +
+                    " and value type " + valueType.getClazz().getName());
         }
-
-        // Perform type checking to ensure value is of the correct type
-        if (value != null && !valueType.getClazz().isInstance(value)) {
-            throw new InvalidQueryException("Value is not of the expected type: " + valueType.getClazz().getName());
+        if (value instanceof List<?> && !(op instanceof MultiValueOperator)) {
+            throw new InvalidQueryException("Operator " + operator + " does not accept a list of values");
         }
+        return op;
+    }
 
-        return op.apply(field, valueType.getClazz().cast(value));
+    public Field<?> toField() {
+        return field(column, getFieldClass());
     }
 
     protected abstract Class<?> getFieldClass();
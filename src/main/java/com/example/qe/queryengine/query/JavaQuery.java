@@ -1,6 +1,8 @@
 package com.example.qe.queryengine.query;
 
 import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.exception.OperatorNotFoundException;
+import com.example.qe.queryengine.operator.OperatorDispatchTable;
 import com.example.qe.queryengine.operator.OperatorFactory;
 import com.example.qe.queryengine.operator.RunConditionOperator;
 import com.fasterxml.jackson.annotation.JsonCreator;
@@ -37,10 +39,23 @@ public class JavaQuery implements Query{
 
     @Override
     public Condition toCondition(DSLContext dsl, OperatorFactory operatorFactory) {
-        RunConditionOperator op = operatorFactory.resolveRunCondition(operator, valueType.getClazz());
+        RunConditionOperator op = resolveOperator(operatorFactory);
+        if (value instanceof Placeholder unresolved) {
+            throw new InvalidQueryException("Unresolved placeholder: " + unresolved.name());
+        }
         return op.evaluate(placeholder,valueType.getClazz().cast(value));
     }
 
+    public RunConditionOperator resolveOperator(OperatorFactory operatorFactory) {
+        OperatorDispatchTable dispatchTable = operatorFactory.dispatchTable();
+        RunConditionOperator op = dispatchTable.getRunCondition(dispatchTable.idOf(operator), valueType);
+        if (op == null) {
+            throw new OperatorNotFoundException("RunConditionOperator " + operator +
+                    " does not support value type " + valueType.getClazz().getName());
+        }
+        return op;
+    }
+
     public void validate() {
         if (placeholder == null || placeholder.trim().isEmpty()) {
             throw new InvalidQueryException("Placeholder cannot be null or empty");
@@ -0,0 +1,12 @@
+package com.example.qe.queryengine.query;
+
+/**
+ * A placeholder value such as "[me]" or "[today]" that is kept unresolved inside a query
+ * until it is bound with request-specific values.
+ */
+public record Placeholder(String name) {
+
+    public static boolean isPlaceholder(Object value) {
+        return value instanceof String text && text.startsWith("[") && text.endsWith("]");
+    }
+}
@@ -2,14 +2,24 @@ package com.example.qe.queryengine.query;
 
 import lombok.*;
 
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class QueryContextDto {
+    // Identifies the query within a batch; results are keyed by it
+    String requestId;
     String tableName;
     String json;
     String createdBy;
     String spoofDate;
+    // Optional projection; all columns are returned when empty
+    List<String> columns;
+    // Keyset pagination: sort entries are "column" or "column DESC"; the last one should be unique
+    Integer pageSize;
+    List<String> sort;
+    String continuationToken;
 }
@@ -0,0 +1,17 @@
+package com.example.qe.queryengine.query;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueryPageDto {
+    List<Map<String, Object>> rows;
+    // Null when this is the last page
+    String continuationToken;
+}
@@ -0,0 +1,20 @@
+package com.example.qe.queryengine.query;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecordMatchDto {
+    String tableName;
+    // Id of the message that carried the record, when the producer set one
+    String messageId;
+    Map<String, Object> record;
+    // Ids of the saved queries the record satisfies, in registration order
+    List<String> queryIds;
+}
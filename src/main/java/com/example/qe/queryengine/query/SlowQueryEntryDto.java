@@ -0,0 +1,31 @@
+package com.example.qe.queryengine.query;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowQueryEntryDto {
+    Instant recordedAt;
+    // Service method that ran the query, e.g. executeQueryToDisplay
+    String operation;
+    String requestId;
+    String tableName;
+    // Hash of the whitespace-normalized query JSON, identifying the rule without storing it
+    String queryHash;
+    // Parameterized SQL; null when the query was answered without the database
+    String sql;
+    // Redacted according to queryengine.slow-query.redaction
+    List<Object> bindValues;
+    // Null for operations that do not return rows, such as counts
+    Long rows;
+    double elapsedMillis;
+    // Time per pipeline stage, in pipeline order; nested stages are also included in their parent
+    Map<String, Double> stageMillis;
+}
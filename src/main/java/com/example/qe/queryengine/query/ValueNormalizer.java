@@ -8,6 +8,7 @@ import java.text.ParsePosition;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.ResolverStyle;
+import java.util.Collection;
 
 public final class ValueNormalizer {
 
@@ -16,8 +17,17 @@ public final class ValueNormalizer {
 
     private ValueNormalizer() {}
 
+    /**
+     * Normalizes a raw JSON value to the Java type of the given value type.
+     * Unresolved placeholders are returned as {@link Placeholder} so they can be bound later,
+     * and JSON arrays are normalized element by element into a list.
+     */
     public static Object normalize(Object rawValue, ValueType type) {
         if (rawValue == null) return null;
+        if (Placeholder.isPlaceholder(rawValue)) return new Placeholder((String) rawValue);
+        if (rawValue instanceof Collection<?> values) {
+            return values.stream().map(v -> normalize(v, type)).toList();
+        }
 
         try {
             return switch (type) {
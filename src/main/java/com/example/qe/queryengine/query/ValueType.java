@@ -4,6 +4,7 @@ import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 
 @Getter
 public enum ValueType {
@@ -12,10 +13,34 @@ public enum ValueType {
     DATE(LocalDate.class),
     NUMERIC(BigDecimal.class);
 
+    private static final ValueType[] VALUES = values();
+
     private final Class<?> clazz;
 
     ValueType(Class<?> clazz) {
         this.clazz = clazz;
     }
 
+    /**
+     * Whether the value, or every element of a list value, is null or of this type.
+     */
+    public boolean accepts(Object value) {
+        if (value instanceof Collection<?> values) {
+            return values.stream().allMatch(v -> v == null || clazz.isInstance(v));
+        }
+        return value == null || clazz.isInstance(value);
+    }
+
+    /**
+     * The value type for the Java class, or null if none matches.
+     */
+    public static ValueType fromClass(Class<?> clazz) {
+        for (ValueType type : VALUES) {
+            if (type.clazz == clazz) {
+                return type;
+            }
+        }
+        return null;
+    }
+
 }
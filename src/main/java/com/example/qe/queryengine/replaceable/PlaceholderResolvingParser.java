@@ -0,0 +1,148 @@
+package com.example.qe.queryengine.replaceable;
+
+import com.example.qe.queryengine.query.Placeholder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Token-filtering parser that substitutes placeholder string values (e.g. "[me]", "[today]")
+ * while the caller consumes the token stream, so the query can be deserialized in a single pass
+ * without building and re-serializing an intermediate JSON tree.
+ * A placeholder resolving to null is exposed as a JSON null token.
+ */
+class PlaceholderResolvingParser extends JsonParserDelegate {
+
+    private final UnaryOperator<String> placeholderResolver;
+
+    private boolean replaced;
+    private String replacement;
+
+    PlaceholderResolvingParser(JsonParser delegate, UnaryOperator<String> placeholderResolver) {
+        super(delegate);
+        this.placeholderResolver = placeholderResolver;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+        replaced = false;
+        replacement = null;
+        if (token == JsonToken.VALUE_STRING) {
+            String text = delegate.getText();
+            if (Placeholder.isPlaceholder(text)) {
+                replaced = true;
+                replacement = placeholderResolver.apply(text);
+            }
+        }
+        return currentToken();
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        if (token == JsonToken.FIELD_NAME) {
+            token = nextToken();
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken currentToken() {
+        return isNullified() ? JsonToken.VALUE_NULL : delegate.currentToken();
+    }
+
+    @Override
+    public JsonToken getCurrentToken() {
+        return currentToken();
+    }
+
+    @Override
+    public int currentTokenId() {
+        return isNullified() ? JsonTokenId.ID_NULL : delegate.currentTokenId();
+    }
+
+    // Deprecated in favour of currentTokenId(), but the delegate's version reports the raw token,
+    // so callers still on the old name would see the placeholder string instead of a nullified value
+    @Override
+    @Deprecated
+    @SuppressWarnings("deprecation")
+    public int getCurrentTokenId() {
+        return currentTokenId();
+    }
+
+    @Override
+    public boolean hasToken(JsonToken token) {
+        return currentToken() == token;
+    }
+
+    @Override
+    public boolean hasTokenId(int id) {
+        return currentTokenId() == id;
+    }
+
+    @Override
+    public String getText() throws IOException {
+        return replaced ? replacement : delegate.getText();
+    }
+
+    @Override
+    public int getText(Writer writer) throws IOException {
+        if (!replaced) {
+            return delegate.getText(writer);
+        }
+        if (replacement == null) {
+            return 0;
+        }
+        writer.write(replacement);
+        return replacement.length();
+    }
+
+    @Override
+    public boolean hasTextCharacters() {
+        return !replaced && delegate.hasTextCharacters();
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException {
+        if (!replaced) {
+            return delegate.getTextCharacters();
+        }
+        return replacement == null ? null : replacement.toCharArray();
+    }
+
+    @Override
+    public int getTextLength() throws IOException {
+        if (!replaced) {
+            return delegate.getTextLength();
+        }
+        return replacement == null ? 0 : replacement.length();
+    }
+
+    @Override
+    public int getTextOffset() throws IOException {
+        return replaced ? 0 : delegate.getTextOffset();
+    }
+
+    @Override
+    public String getValueAsString() throws IOException {
+        return replaced ? replacement : delegate.getValueAsString();
+    }
+
+    @Override
+    public String getValueAsString(String defaultValue) throws IOException {
+        if (!replaced) {
+            return delegate.getValueAsString(defaultValue);
+        }
+        return replacement == null ? defaultValue : replacement;
+    }
+
+    private boolean isNullified() {
+        return replaced && replacement == null;
+    }
+}
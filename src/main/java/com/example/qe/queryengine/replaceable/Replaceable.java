@@ -1,8 +1,16 @@
 package com.example.qe.queryengine.replaceable;
 
+import com.example.qe.queryengine.query.EvaluationContext;
 import com.example.qe.queryengine.query.QueryContextDto;
 
 @FunctionalInterface
 public interface Replaceable {
     String resolve(QueryContextDto context);
+
+    /**
+     * Resolves within a request; replaceables that depend on the current date should use the context's snapshot.
+     */
+    default String resolve(EvaluationContext context) {
+        return resolve(context.getRequest());
+    }
 }
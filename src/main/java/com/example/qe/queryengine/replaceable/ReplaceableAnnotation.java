@@ -7,4 +7,9 @@ import java.lang.annotation.*;
 public @interface ReplaceableAnnotation {
     String value();
     String description() default "";
+
+    /**
+     * Set for replaceables that keep state between calls; all others share one instance.
+     */
+    boolean perRequest() default false;
 }
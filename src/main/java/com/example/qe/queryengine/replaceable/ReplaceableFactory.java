@@ -12,16 +12,27 @@ public class ReplaceableFactory {
         this.registry = registry;
     }
 
+    /**
+     * Returns the shared instance for the placeholder, creating it on first use.
+     * Replaceables marked {@link ReplaceableAnnotation#perRequest()} get a new instance on every call.
+     */
     public Replaceable create(String placeholder) {
+        Replaceable shared = registry.getInstance(placeholder);
+        if (shared != null) {
+            return shared;
+        }
+
         Class<? extends Replaceable> clazz = registry.get(placeholder);
         if (clazz == null) {
             throw new QueryReplaceableException("No Replaceable found for placeholder: " + placeholder);
         }
 
+        Replaceable instance;
         try {
-            return clazz.getDeclaredConstructor().newInstance();
+            instance = clazz.getDeclaredConstructor().newInstance();
         } catch (Exception e) {
             throw new QueryReplaceableException("Failed to create Replaceable for " + placeholder, e);
         }
+        return registry.isPerRequest(placeholder) ? instance : registry.cacheInstance(placeholder, instance);
     }
 }
@@ -0,0 +1,12 @@
+package com.example.qe.queryengine.replaceable;
+
+/**
+ * Compile-time list of replaceables, generated by the registry index processor.
+ * Lets {@link ReplaceableScanner} register replaceables without classpath scanning.
+ */
+public interface ReplaceableIndex {
+
+    String GENERATED_CLASS_NAME = "com.example.qe.queryengine.replaceable.GeneratedReplaceableIndex";
+
+    void registerAll(ReplaceableRegistry registry);
+}
@@ -3,15 +3,44 @@ package com.example.qe.queryengine.replaceable;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Maps placeholders to their replaceable class and holds the shared instance of every
+ * replaceable that is not marked {@link ReplaceableAnnotation#perRequest()}.
+ */
 @Component
 public class ReplaceableRegistry {
 
     private final Map<String, Class<? extends Replaceable>> registry = new HashMap<>();
+    private final Set<String> perRequestPlaceholders = new HashSet<>();
+    private final Map<String, Replaceable> instances = new ConcurrentHashMap<>();
 
     public void register(String placeholder, Class<? extends Replaceable> clazz) {
+        ReplaceableAnnotation annotation = clazz.getAnnotation(ReplaceableAnnotation.class);
+        register(placeholder, clazz, annotation != null && annotation.perRequest());
+    }
+
+    public void register(String placeholder, Class<? extends Replaceable> clazz, boolean perRequest) {
         registry.put(placeholder, clazz);
+        instances.remove(placeholder);
+        if (perRequest) {
+            perRequestPlaceholders.add(placeholder);
+        } else {
+            perRequestPlaceholders.remove(placeholder);
+        }
+    }
+
+    /**
+     * Registers an instance that is shared by all requests, as done by the generated index.
+     */
+    public void register(String placeholder, Replaceable instance) {
+        registry.put(placeholder, instance.getClass());
+        perRequestPlaceholders.remove(placeholder);
+        instances.put(placeholder, instance);
     }
 
     public Class<? extends Replaceable> get(String placeholder) {
@@ -22,6 +51,25 @@ public class ReplaceableRegistry {
         return registry.containsKey(placeholder);
     }
 
+    public boolean isPerRequest(String placeholder) {
+        return perRequestPlaceholders.contains(placeholder);
+    }
+
+    /**
+     * Returns the shared instance for the placeholder, or null if none has been created yet.
+     */
+    public Replaceable getInstance(String placeholder) {
+        return instances.get(placeholder);
+    }
+
+    /**
+     * Stores a lazily created shared instance; if another thread got there first, its instance wins.
+     */
+    Replaceable cacheInstance(String placeholder, Replaceable instance) {
+        Replaceable existing = instances.putIfAbsent(placeholder, instance);
+        return existing != null ? existing : instance;
+    }
+
     public Map<String, Class<? extends Replaceable>> getAll() {
         return registry;
     }
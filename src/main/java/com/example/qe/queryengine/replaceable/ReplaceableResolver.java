@@ -2,13 +2,20 @@ package com.example.qe.queryengine.replaceable;
 
 import com.example.qe.queryengine.exception.QueryReplaceableException;
 import com.example.qe.queryengine.helper.JsonHelper;
+import com.example.qe.queryengine.query.EvaluationContext;
+import com.example.qe.queryengine.query.Placeholder;
 import com.example.qe.queryengine.query.QueryContextDto;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
 @Component
 public class ReplaceableResolver {
 
@@ -19,10 +26,24 @@ public class ReplaceableResolver {
         this.factory = factory;
     }
 
+    /**
+     * Creates the request's evaluation context: placeholders are resolved once on first use
+     * and the current date is captured a single time for all replaceables and operators.
+     * A request with a spoofDate is evaluated as of that date instead.
+     */
+    public EvaluationContext createEvaluationContext(QueryContextDto contextDto) {
+        return createEvaluationContext(contextDto, today(contextDto));
+    }
+
+    public EvaluationContext createEvaluationContext(QueryContextDto contextDto, LocalDate today) {
+        return new EvaluationContext(contextDto, today,
+                (placeholder, context) -> factory.create(placeholder).resolve(context));
+    }
+
     public String processJsonPlaceholders(QueryContextDto contextDto) {
         try {
             JsonNode root = JsonHelper.parseEscapedJsonString(contextDto.getJson());
-            resolveNode(root, contextDto);
+            resolveNode(root, createEvaluationContext(contextDto));
             return objectMapper.writeValueAsString(root);
         } catch (JsonProcessingException e) {
             throw new QueryReplaceableException("Unable to convert provided JSON string into Json node to process", e);
@@ -31,24 +52,57 @@ public class ReplaceableResolver {
         }
     }
 
-    private void resolveNode(JsonNode node, QueryContextDto contextDto) {
+    /**
+     * Creates a parser over the context JSON that resolves placeholders as tokens are read,
+     * so the query can be deserialized directly without an intermediate tree.
+     * The caller owns the returned parser and is responsible for closing it.
+     */
+    public JsonParser createResolvingParser(QueryContextDto contextDto) {
+        return createResolvingParser(createEvaluationContext(contextDto));
+    }
+
+    public JsonParser createResolvingParser(EvaluationContext context) {
+        String json = context.getRequest().getJson();
+        if (json == null || json.trim().isEmpty()) {
+            throw new QueryReplaceableException("JSON cannot be null or empty");
+        }
+        try {
+            JsonParser parser = objectMapper.getFactory().createParser(json);
+            return new PlaceholderResolvingParser(parser, context::resolve);
+        } catch (IOException e) {
+            throw new QueryReplaceableException("Unable to create parser for provided JSON string", e);
+        }
+    }
+
+    private static LocalDate today(QueryContextDto contextDto) {
+        String spoofDate = contextDto.getSpoofDate();
+        if (spoofDate == null || spoofDate.isBlank()) {
+            return LocalDate.now();
+        }
+        try {
+            return LocalDate.parse(spoofDate.trim());
+        } catch (DateTimeParseException e) {
+            throw new QueryReplaceableException("Invalid spoofDate, expected yyyy-MM-dd: " + spoofDate, e);
+        }
+    }
+
+    private void resolveNode(JsonNode node, EvaluationContext context) {
         if (node.isObject()) {
             ObjectNode objNode = (ObjectNode) node;
             objNode.fieldNames().forEachRemaining(field -> {
                 JsonNode child = objNode.get(field);
                 if (child.isTextual()) {
                     String text = child.asText();
-                    if (text.startsWith("[") && text.endsWith("]")) {
-                        Replaceable replaceable = factory.create(text);
-                        objNode.put(field, replaceable.resolve(contextDto));
+                    if (Placeholder.isPlaceholder(text)) {
+                        objNode.put(field, context.resolve(text));
                     }
                 } else {
-                    resolveNode(child, contextDto);
+                    resolveNode(child, context);
                 }
             });
         } else if (node.isArray()) {
             for (JsonNode child : node) {
-                resolveNode(child, contextDto);
+                resolveNode(child, context);
             }
         }
     }
@@ -1,5 +1,6 @@
 package com.example.qe.queryengine.replaceable;
 
+import com.example.qe.queryengine.exception.QueryEngineException;
 import lombok.extern.slf4j.Slf4j;
 import org.reflections.Reflections;
 import org.springframework.stereotype.Component;
@@ -22,6 +23,14 @@ public class ReplaceableScanner {
 
     @PostConstruct
     public void scanAndRegister() {
+        ReplaceableIndex index = loadGeneratedIndex();
+        if (index != null) {
+            index.registerAll(registry);
+            log.debug("Registered replaceables from generated index. Registered count: {}", registry.getAll().size());
+            return;
+        }
+
+        // Fallback when the annotation processor did not run, e.g. in some IDE builds
         Reflections reflections = new Reflections(REPLACEABLE_BASE_PACKAGE);
         Set<Class<?>> replaceableClasses = reflections.getTypesAnnotatedWith(ReplaceableAnnotation.class);
 
@@ -37,4 +46,17 @@ public class ReplaceableScanner {
     <T extends Replaceable> void registerReplaceable(Class<?> clazz, String placeholder) {
         registry.register(placeholder, clazz.asSubclass(Replaceable.class));
     }
+
+    ReplaceableIndex loadGeneratedIndex() {
+        try {
+            return Class.forName(ReplaceableIndex.GENERATED_CLASS_NAME)
+                    .asSubclass(ReplaceableIndex.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new QueryEngineException("Failed to load generated replaceable index", e);
+        }
+    }
 }
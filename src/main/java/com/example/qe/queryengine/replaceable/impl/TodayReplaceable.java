@@ -1,5 +1,6 @@
 package com.example.qe.queryengine.replaceable.impl;
 
+import com.example.qe.queryengine.query.EvaluationContext;
 import com.example.qe.queryengine.query.QueryContextDto;
 import com.example.qe.queryengine.replaceable.Replaceable;
 import com.example.qe.queryengine.replaceable.ReplaceableAnnotation;
@@ -14,4 +15,13 @@ public class TodayReplaceable implements Replaceable {
                 ? context.getSpoofDate()
                 : LocalDate.now().toString();
     }
+
+    /**
+     * The context's date, which already accounts for the spoof date, so that the placeholder and the
+     * date operators of one query agree on today.
+     */
+    @Override
+    public String resolve(EvaluationContext context) {
+        return context.getToday().toString();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.query.BatchQueryResultDto;
+import com.example.qe.queryengine.query.QueryContextDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchQueryExecutorTest {
+
+    private final BatchQueryExecutor executor = new BatchQueryExecutor(10, 2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_givenSeveralQueries_shouldKeyResultsByRequestIdInOrder() {
+        // Arrange
+        List<QueryContextDto> requests = List.of(request("b"), request("a"), request("c"));
+
+        // Act
+        Map<String, BatchQueryResultDto> results = executor.execute(requests,
+                context -> List.of(Map.of("id", context.getRequestId())));
+
+        // Assert
+        assertThat(results).containsOnlyKeys("b", "a", "c");
+        assertThat(results.keySet()).containsExactly("b", "a", "c");
+        assertThat(results.get("a").getRows()).containsExactly(Map.of("id", "a"));
+        assertThat(results.get("a").getError()).isNull();
+    }
+
+    @Test
+    void execute_givenFailingQuery_shouldReportErrorWithoutFailingBatch() {
+        // Arrange
+        List<QueryContextDto> requests = List.of(request("ok"), request("bad"));
+
+        // Act
+        Map<String, BatchQueryResultDto> results = executor.execute(requests, context -> {
+            if (context.getRequestId().equals("bad")) {
+                throw new QueryEngineException("Unknown column x for table Trade");
+            }
+            return List.of();
+        });
+
+        // Assert
+        assertThat(results.get("ok").getRows()).isEmpty();
+        assertThat(results.get("bad").getRows()).isNull();
+        assertThat(results.get("bad").getError()).isEqualTo("Unknown column x for table Trade");
+    }
+
+    @Test
+    void execute_givenMoreQueriesThanThreads_shouldCapConcurrency() {
+        // Arrange
+        List<QueryContextDto> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(request("q" + i));
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // Act
+        Map<String, BatchQueryResultDto> results = executor.execute(requests, context -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return List.of();
+        });
+
+        // Assert
+        assertThat(results).hasSize(10);
+        assertThat(maxRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void execute_givenDuplicateRequestId_shouldThrowQueryEngineException() {
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(List.of(request("a"), request("a")), context -> List.of()))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("Duplicate requestId in batch: a");
+    }
+
+    @Test
+    void execute_givenMissingRequestId_shouldThrowQueryEngineException() {
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(List.of(request(null)), context -> List.of()))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("needs a requestId");
+    }
+
+    @Test
+    void execute_givenTooManyQueries_shouldThrowQueryEngineException() {
+        // Arrange
+        List<QueryContextDto> requests = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            requests.add(request("q" + i));
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> executor.execute(requests, context -> List.of()))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("maximum is 10");
+    }
+
+    private static QueryContextDto request(String requestId) {
+        return QueryContextDto.builder().requestId(requestId).tableName("Trade").json("{}").build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.QueryEngineMetrics.Stage;
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.plan.QueryPlan;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import com.example.qe.queryengine.query.EvaluationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryEngineMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Connection connection;
+    private DSLContext dsl;
+    private QueryEngineMetrics metrics;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:queryenginemetrics;DB_CLOSE_DELAY=-1");
+        dsl = DSL.using(connection, SQLDialect.H2);
+        dsl.execute("create table trade (id int primary key)");
+        dsl.execute("create table position (id int primary key)");
+        metrics = new QueryEngineMetrics(registry, new TableMetadataCache(dsl, 100, Duration.ofHours(1)), 1);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        dsl.execute("drop table trade");
+        dsl.execute("drop table position");
+        connection.close();
+    }
+
+    @Test
+    void time_givenFailingStage_shouldStillRecordDuration() {
+        // Act & Assert
+        assertThatThrownBy(() -> metrics.time(Stage.PARSE, "Trade", () -> {
+            throw new IllegalStateException("Malformed JSON");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(registry.get("queryengine.stage").tag("stage", "parse").tag("table", "trade").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void countOperators_givenPlan_shouldCountEachOccurrence() {
+        // Arrange
+        OperatorRegistry operatorRegistry = new OperatorRegistry();
+        new OperatorScanner(operatorRegistry).scanAndRegister();
+        OperatorFactory operatorFactory = new OperatorFactory(operatorRegistry);
+        String json = """
+                {
+                  "type": "OrQuery",
+                  "children": [
+                    { "type": "StringQuery", "column": "ccy", "operatorName": "equals", "value": "SGD", "valueType": "STRING" },
+                    { "type": "StringQuery", "column": "trader", "operatorName": "equals", "value": "bob", "valueType": "STRING" },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThan", "value": 10, "valueType": "NUMERIC" }
+                  ]
+                }
+                """;
+        QueryPlan plan = new QueryPlanCompiler(operatorFactory, false)
+                .compile(new ConditionParser(operatorFactory, DSL.using(SQLDialect.DEFAULT)).parseQuery(json));
+
+        // Act
+        metrics.countOperators(plan);
+        metrics.countOperators(plan);
+
+        // Assert
+        assertThat(registry.get("queryengine.operator.usage").tag("operator", "equals").counter().count()).isEqualTo(4.0);
+        assertThat(registry.get("queryengine.operator.usage").tag("operator", "greaterThan").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void timeResolution_givenRepeatedPlaceholder_shouldResolveAndRecordOnce() {
+        // Arrange
+        AtomicInteger resolutions = new AtomicInteger();
+        EvaluationContext context = new EvaluationContext(null, LocalDate.of(2025, 9, 14), (placeholder, evaluationContext) -> {
+            resolutions.incrementAndGet();
+            return "alice";
+        });
+
+        // Act
+        EvaluationContext timed = metrics.timeResolution(context, "Trade");
+        timed.resolve("[me]");
+        String value = timed.resolve("[me]");
+
+        // Assert
+        assertThat(value).isEqualTo("alice");
+        assertThat(timed.getToday()).isEqualTo(LocalDate.of(2025, 9, 14));
+        assertThat(resolutions.get()).isEqualTo(1);
+        assertThat(registry.get("queryengine.stage").tag("stage", "resolve").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordRows_givenTablesInDifferentCase_shouldShareOneSummary() {
+        // Act
+        metrics.recordRows("Trade", 10);
+        metrics.recordRows("TRADE", 5);
+        metrics.recordBytes(null, 128);
+
+        // Assert
+        assertThat(registry.get("queryengine.rows").tag("table", "trade").summary().totalAmount()).isEqualTo(15.0);
+        assertThat(registry.get("queryengine.rows").tag("table", "trade").summary().count()).isEqualTo(2);
+        assertThat(registry.get("queryengine.serialized.bytes").tag("table", "none").summary().totalAmount()).isEqualTo(128.0);
+    }
+
+    @Test
+    void time_givenUnknownTableOrTablesPastLimit_shouldTagThemAsOther() {
+        // Act
+        metrics.time(Stage.PARSE, "Trade", () -> null);
+        metrics.time(Stage.PARSE, "no_such_table_" + System.nanoTime(), () -> null);
+        metrics.time(Stage.PARSE, "'; drop table trade --", () -> null);
+        metrics.time(Stage.PARSE, "position", () -> null);
+
+        // Assert
+        assertThat(registry.get("queryengine.stage").tag("stage", "parse").tag("table", "trade").timer().count()).isEqualTo(1);
+        assertThat(registry.get("queryengine.stage").tag("stage", "parse").tag("table", "other").timer().count()).isEqualTo(3);
+    }
+}
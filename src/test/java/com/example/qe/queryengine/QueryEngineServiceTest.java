@@ -0,0 +1,205 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.plan.QueryPlanCache;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import com.example.qe.queryengine.plan.RowPredicateCompiler;
+import com.example.qe.queryengine.query.BatchQueryResultDto;
+import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.query.QueryPageDto;
+import com.example.qe.queryengine.replaceable.ReplaceableFactory;
+import com.example.qe.queryengine.replaceable.ReplaceableRegistry;
+import com.example.qe.queryengine.replaceable.ReplaceableResolver;
+import com.example.qe.queryengine.replaceable.ReplaceableScanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the service against H2 with the DEFAULT dialect, as configured for SQL Server.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryEngineServiceTest {
+
+    // Monday 2025-09-15 is day 1, so this run condition always holds
+    private static final String ALWAYS = """
+            { "type": "JavaQuery", "placeholder": "2025-09-15", "operatorName": "dayOfWeek", "value": 1, "valueType": "NUMERIC" }
+            """;
+
+    private Connection connection;
+    private DSLContext dsl;
+    private SimpleMeterRegistry registry;
+    private QueryEngineService service;
+
+    @BeforeAll
+    void setUpDatabase() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:queryengineservice;DATABASE_TO_LOWER=TRUE");
+        dsl = DSL.using(connection, SQLDialect.DEFAULT);
+        dsl.execute("create table trade (id int primary key, ccy varchar(10), amount decimal(10,2), trade_date date)");
+        dsl.execute("insert into trade values (1, 'SGD', 100.00, date '2025-09-14'), (2, 'USD', 250.50, null), (3, 'EUR', 300, date '2025-09-14')");
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        OperatorRegistry operatorRegistry = new OperatorRegistry();
+        new OperatorScanner(operatorRegistry).scanAndRegister();
+        OperatorFactory operatorFactory = new OperatorFactory(operatorRegistry);
+        ReplaceableRegistry replaceableRegistry = new ReplaceableRegistry();
+        new ReplaceableScanner(replaceableRegistry).scanAndRegister();
+
+        service = new QueryEngineService(dsl);
+        service.conditionParser = new ConditionParser(operatorFactory, dsl);
+        service.replaceableResolver = new ReplaceableResolver(new ReplaceableFactory(replaceableRegistry));
+        service.queryPlanCompiler = new QueryPlanCompiler(operatorFactory, false);
+        service.queryPlanCache = new QueryPlanCache(true, 100, Duration.ofMinutes(5));
+        service.rowPredicateCompiler = new RowPredicateCompiler(operatorFactory, false);
+        service.objectMapper = new ObjectMapper();
+        service.tableMetadataCache = new TableMetadataCache(dsl, 100, Duration.ofMinutes(5));
+        service.queryResultCache = new QueryResultCache(false, 100, Duration.ofMinutes(1), "");
+        registry = new SimpleMeterRegistry();
+        service.metrics = new QueryEngineMetrics(registry, service.tableMetadataCache, 100);
+        // Every query is "slow", so the log shows the SQL that was sent
+        service.slowQueryLog = new SlowQueryLog(true, Duration.ZERO, 0, 10, SlowQueryLog.BindRedaction.NONE);
+        service.useCountBig = false;
+        service.singleFlightEnabled = false;
+        service.batchQueryExecutor = new BatchQueryExecutor(10, 2);
+        service.scanSharingMaxBinds = 2000;
+    }
+
+    @Test
+    void executeQueryToDisplay_givenRunConditionOnlyRuleThatHolds_shouldReturnAllRows() {
+        // Act
+        List<Map<String, Object>> rows = service.executeQueryToDisplay(request(ALWAYS));
+
+        // Assert
+        assertThat(rows).hasSize(3);
+        assertThat(lastSql()).contains("1 = 1").doesNotContainIgnoringCase("true");
+    }
+
+    @Test
+    void executeQuery_givenTableWithoutCachedMetadata_shouldTagMetricsWithTable() {
+        // Act
+        service.executeQuery(request(ALWAYS));
+
+        // Assert
+        assertThat(registry.get("queryengine.stage").tag("stage", "execute").tag("table", "trade").timer().count()).isEqualTo(1);
+        assertThat(registry.get("queryengine.rows").tag("table", "trade").summary().totalAmount()).isEqualTo(3.0);
+    }
+
+    @Test
+    void executeQuery_givenCachedResult_shouldReturnCopyCallerCanModify() {
+        // Arrange
+        service.queryResultCache = new QueryResultCache(true, 100, Duration.ofMinutes(1), "");
+        Result<Record> first = service.executeQuery(request(ALWAYS));
+
+        // Act
+        first.get(0).set(DSL.field("ccy"), "XXX");
+        first.clear();
+        Result<Record> second = service.executeQuery(request(ALWAYS));
+
+        // Assert
+        assertThat(second).hasSize(3);
+        assertThat(second.getValues("ccy")).doesNotContain("XXX");
+    }
+
+    @Test
+    void executeQueryCount_givenOrWithTrueChild_shouldCountAllRows() {
+        // Arrange
+        String json = """
+                {
+                  "type": "OrQuery",
+                  "children": [
+                    %s,
+                    { "type": "StringQuery", "column": "ccy", "operatorName": "equals", "value": "SGD", "valueType": "STRING" }
+                  ]
+                }
+                """.formatted(ALWAYS);
+
+        // Act
+        long count = service.executeQueryCount(request(json));
+
+        // Assert
+        assertThat(count).isEqualTo(3);
+        assertThat(lastSql()).contains("1 = 1").doesNotContainIgnoringCase("true");
+    }
+
+    @Test
+    void executeQueryPage_givenTwoSortColumnsWithDatesAndNulls_shouldWalkEveryRowOnce() {
+        // Arrange
+        List<String> sort = List.of("trade_date DESC", "id");
+        List<Object> ids = new ArrayList<>();
+        String token = null;
+
+        // Act
+        do {
+            QueryPageDto page = service.executeQueryPage(QueryContextDto.builder().requestId("r1").tableName("trade")
+                    .json(ALWAYS).sort(sort).pageSize(1).continuationToken(token).build());
+            page.getRows().forEach(row -> ids.add(row.get("id")));
+            token = page.getContinuationToken();
+        } while (token != null);
+
+        // Assert
+        assertThat(ids).containsExactly(1, 3, 2);
+        assertThat(lastSql()).doesNotContain("(trade_date, id)");
+    }
+
+    @Test
+    void executeQueryBatch_givenSharedScanWithOneInvalidFilter_shouldAnswerTheOthers() {
+        // Arrange
+        service.scanSharingEnabled = true;
+        List<QueryContextDto> contexts = List.of(
+                QueryContextDto.builder().requestId("sgd").tableName("trade").json("""
+                        { "type": "StringQuery", "column": "ccy", "operatorName": "equals", "value": "SGD", "valueType": "STRING" }
+                        """).build(),
+                QueryContextDto.builder().requestId("unknown").tableName("trade").json("""
+                        { "type": "StringQuery", "column": "ccy", "operatorName": "soundsLike", "value": "SGD", "valueType": "STRING" }
+                        """).build(),
+                QueryContextDto.builder().requestId("mismatch").tableName("trade").json("""
+                        { "type": "NumericQuery", "column": "amount", "operatorName": "startsWith", "value": 1, "valueType": "NUMERIC" }
+                        """).build());
+
+        // Act
+        Map<String, BatchQueryResultDto> results = service.executeQueryBatch(contexts);
+
+        // Assert
+        assertThat(results.get("sgd").getError()).isNull();
+        assertThat(results.get("sgd").getRows()).hasSize(1);
+        assertThat(results.get("unknown").getError()).isNotNull();
+        assertThat(results.get("mismatch").getError()).isNotNull();
+    }
+
+    private String lastSql() {
+        return service.getSlowQueries().get(0).getSql();
+    }
+
+    private static QueryContextDto request(String json) {
+        return QueryContextDto.builder().requestId("r1").tableName("trade").json(json).build();
+    }
+}
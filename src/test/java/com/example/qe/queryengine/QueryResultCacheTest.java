@@ -0,0 +1,129 @@
+package com.example.qe.queryengine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryResultCacheTest {
+
+    private static final String SQL = "select * from Currency where (code = ?)";
+
+    @Test
+    void getOrLoad_givenSameQueryTwice_shouldLoadOnce() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(true, 10, Duration.ofMinutes(1), "");
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getOrLoad("Currency", SQL, List.of("SGD"), loads::incrementAndGet);
+        Integer second = cache.getOrLoad("currency", SQL, List.of("SGD"), loads::incrementAndGet);
+
+        // Assert
+        assertThat(second).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrLoad_givenDifferentBindValues_shouldLoadEach() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(true, 10, Duration.ofMinutes(1), "");
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getOrLoad("Currency", SQL, List.of("SGD"), loads::incrementAndGet);
+        cache.getOrLoad("Currency", SQL, List.of("USD"), loads::incrementAndGet);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getOrLoad_givenTableWithZeroTtl_shouldNotCache() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(true, 10, Duration.ofMinutes(1), "Trade=0s, Currency=1h");
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getOrLoad("Trade", SQL, List.of(), loads::incrementAndGet);
+        cache.getOrLoad("Trade", SQL, List.of(), loads::incrementAndGet);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateTable_givenCachedResults_shouldOnlyDropThatTable() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(true, 10, Duration.ofMinutes(1), "");
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("Currency", SQL, List.of(), loads::incrementAndGet);
+        cache.getOrLoad("Country", SQL, List.of(), loads::incrementAndGet);
+
+        // Act
+        int removed = cache.invalidateTable("CURRENCY");
+        cache.getOrLoad("Currency", SQL, List.of(), loads::incrementAndGet);
+        cache.getOrLoad("Country", SQL, List.of(), loads::incrementAndGet);
+
+        // Assert
+        assertThat(removed).isEqualTo(1);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateTable_givenSchemaQualifiedOrQuotedName_shouldDropSameTable() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(true, 10, Duration.ofMinutes(1), "");
+        AtomicInteger loads = new AtomicInteger();
+        cache.getOrLoad("dbo.Orders", SQL, List.of(), loads::incrementAndGet);
+
+        // Act
+        cache.invalidateTable("[orders]");
+        cache.getOrLoad("dbo.Orders", SQL, List.of(), loads::incrementAndGet);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getOrLoad_givenInvalidationDuringLoad_shouldNotCacheStaleResult() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(true, 10, Duration.ofMinutes(1), "");
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getOrLoad("Currency", SQL, List.of(), () -> {
+            cache.invalidateTable("Currency");
+            return loads.incrementAndGet();
+        });
+        cache.getOrLoad("Currency", SQL, List.of(), loads::incrementAndGet);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getOrLoad_givenDisabledCache_shouldAlwaysLoad() {
+        // Arrange
+        QueryResultCache cache = new QueryResultCache(false, 10, Duration.ofMinutes(1), "");
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        cache.getOrLoad("Currency", SQL, List.of(), loads::incrementAndGet);
+        cache.getOrLoad("Currency", SQL, List.of(), loads::incrementAndGet);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void constructor_givenMalformedTableTtls_shouldThrowIllegalArgumentException() {
+        // Act & Assert
+        assertThatThrownBy(() -> new QueryResultCache(true, 10, Duration.ofMinutes(1), "Currency"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
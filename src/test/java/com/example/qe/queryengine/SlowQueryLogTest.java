@@ -0,0 +1,120 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.QueryEngineMetrics.Stage;
+import com.example.qe.queryengine.SlowQueryLog.BindRedaction;
+import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.query.SlowQueryEntryDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+
+    @AfterEach
+    void tearDown() {
+        // A failed assertion inside a trace must not leak it into the next test
+        QueryTrace trace = QueryTrace.current();
+        if (trace != null) {
+            trace.close();
+        }
+    }
+
+    @Test
+    void close_givenQueryAboveLatencyThreshold_shouldRecordStatementStagesAndHash() {
+        // Arrange
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ZERO, 0, 10, BindRedaction.STRINGS);
+
+        // Act
+        try (QueryTrace trace = log.start("executeQueryToDisplay", request("r1", "{ \"type\": \"StringQuery\" }"))) {
+            trace.setStatement("select * from trade where ccy = ? and amount > ?", List.of("SGD", new BigDecimal("10")));
+            trace.addStage(Stage.EXECUTE, 2_500_000);
+            trace.addRows(3);
+        }
+
+        // Assert
+        assertThat(log.entries()).hasSize(1);
+        SlowQueryEntryDto entry = log.entries().get(0);
+        assertThat(entry.getOperation()).isEqualTo("executeQueryToDisplay");
+        assertThat(entry.getRequestId()).isEqualTo("r1");
+        assertThat(entry.getTableName()).isEqualTo("Trade");
+        assertThat(entry.getSql()).isEqualTo("select * from trade where ccy = ? and amount > ?");
+        assertThat(entry.getBindValues()).containsExactly(SlowQueryLog.REDACTED, new BigDecimal("10"));
+        assertThat(entry.getRows()).isEqualTo(3L);
+        assertThat(entry.getStageMillis()).containsExactly(Map.entry("execute", 2.5));
+        assertThat(entry.getQueryHash()).hasSize(16).isEqualTo(SlowQueryLog.hash("{\"type\":\"StringQuery\"}"));
+    }
+
+    @Test
+    void close_givenFastQueryBelowRowThreshold_shouldNotRecord() {
+        // Arrange
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ofHours(1), 100, 10, BindRedaction.STRINGS);
+
+        // Act
+        try (QueryTrace trace = log.start("executeQueryToDisplay", request("small", "{}"))) {
+            trace.addRows(99);
+        }
+        try (QueryTrace trace = log.start("executeQueryToDisplay", request("large", "{}"))) {
+            trace.addRows(100);
+        }
+
+        // Assert
+        assertThat(log.entries()).extracting(SlowQueryEntryDto::getRequestId).containsExactly("large");
+    }
+
+    @Test
+    void entries_givenMoreQueriesThanCapacity_shouldKeepMostRecentFirst() {
+        // Arrange
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ZERO, 0, 2, BindRedaction.NONE);
+
+        // Act
+        for (String id : List.of("a", "b", "c")) {
+            log.start("executeQueryCount", request(id, "{}")).close();
+        }
+
+        // Assert
+        assertThat(log.entries()).extracting(SlowQueryEntryDto::getRequestId).containsExactly("c", "b");
+        assertThat(log.entries().get(0).getRows()).isNull();
+    }
+
+    @Test
+    void start_givenTraceAlreadyRunning_shouldRecordOnlyOuterQuery() {
+        // Arrange
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ZERO, 0, 10, BindRedaction.NONE);
+
+        // Act
+        try (QueryTrace outer = log.start("executeQueryBatch", request("outer", "{}"))) {
+            try (QueryTrace inner = log.start("executeQueryToDisplay", request("inner", "{}"))) {
+                assertThat(inner.isRecording()).isFalse();
+            }
+            assertThat(QueryTrace.current()).isSameAs(outer);
+        }
+
+        // Assert
+        assertThat(QueryTrace.current()).isNull();
+        assertThat(log.entries()).extracting(SlowQueryEntryDto::getRequestId).containsExactly("outer");
+    }
+
+    @Test
+    void redact_givenAllRule_shouldMaskEveryValueButNulls() {
+        // Arrange
+        SlowQueryLog log = new SlowQueryLog(true, Duration.ZERO, 0, 10, BindRedaction.ALL);
+
+        // Act
+        List<Object> redacted = log.redact(Arrays.asList("SGD", LocalDate.of(2025, 9, 14), null));
+
+        // Assert
+        assertThat(redacted).containsExactly(SlowQueryLog.REDACTED, SlowQueryLog.REDACTED, null);
+    }
+
+    private static QueryContextDto request(String requestId, String json) {
+        return QueryContextDto.builder().requestId(requestId).tableName("Trade").json(json).build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.qe.queryengine;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TableMetadataCacheTest {
+
+    private Connection connection;
+    private DSLContext dsl;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:metadata;DB_CLOSE_DELAY=-1");
+        dsl = DSL.using(connection, SQLDialect.H2);
+        dsl.execute("create table people (id int, name varchar(20), notes clob)");
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void resolveColumns_givenKnownColumnsInAnyCase_shouldRenderDatabaseNames() {
+        // Arrange
+        TableMetadataCache cache = new TableMetadataCache(dsl, 10, Duration.ofMinutes(5));
+
+        // Act
+        String sql = dsl.render(dsl.select(cache.resolveColumns("people", List.of("id", "Name"))).from("people"));
+
+        // Assert
+        assertThat(sql).isEqualTo("select \"ID\", \"NAME\" from people");
+    }
+
+    @Test
+    void resolveColumns_givenUnknownColumn_shouldThrowQueryEngineException() {
+        // Arrange
+        TableMetadataCache cache = new TableMetadataCache(dsl, 10, Duration.ofMinutes(5));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.resolveColumns("people", List.of("id", "salary")))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("salary");
+    }
+
+    @Test
+    void resolveColumns_givenUnknownTable_shouldThrowQueryEngineException() {
+        // Arrange
+        TableMetadataCache cache = new TableMetadataCache(dsl, 10, Duration.ofMinutes(5));
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.resolveColumns("ghosts", List.of("id")))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("Unknown table");
+    }
+
+    @Test
+    void resolveColumns_givenColumnAddedAfterLoad_shouldOnlySeeItAfterInvalidation() {
+        // Arrange
+        dsl.execute("create table orders (id int)");
+        TableMetadataCache cache = new TableMetadataCache(dsl, 10, Duration.ofMinutes(5));
+        cache.resolveColumns("orders", List.of("id"));
+        dsl.execute("alter table orders add column total decimal(10, 2)");
+
+        // Act & Assert
+        assertThatThrownBy(() -> cache.resolveColumns("orders", List.of("total")))
+                .isInstanceOf(QueryEngineException.class);
+        cache.invalidateAll();
+        assertThat(cache.resolveColumns("orders", List.of("total"))).hasSize(1);
+    }
+}
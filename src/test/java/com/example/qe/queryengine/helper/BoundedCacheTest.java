@@ -0,0 +1,102 @@
+package com.example.qe.queryengine.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedCacheTest {
+
+    private AtomicLong clock;
+    private BoundedCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        cache = new BoundedCache<>(2, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void getOrLoad_givenRepeatedKey_shouldLoadOnceAndCountHit() {
+        // Arrange
+        AtomicLong loads = new AtomicLong();
+
+        // Act
+        String first = cache.getOrLoad("a", key -> key + loads.incrementAndGet());
+        String second = cache.getOrLoad("a", key -> key + loads.incrementAndGet());
+
+        // Assert
+        assertThat(first).isEqualTo("a1");
+        assertThat(second).isEqualTo("a1");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void put_givenMoreEntriesThanMaxSize_shouldEvictLeastRecentlyUsed() {
+        // Arrange
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        // Act
+        cache.put("c", "3");
+
+        // Assert
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void get_givenExpiredEntry_shouldReturnNullAndCountExpiration() {
+        // Arrange
+        cache.put("a", "1");
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        // Assert
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.stats().expirations()).isEqualTo(1);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void put_givenCustomTtl_shouldOverrideDefaultTtl() {
+        // Arrange
+        cache.put("a", "1", Duration.ofSeconds(30));
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        // Assert
+        assertThat(cache.get("a")).isEqualTo("1");
+    }
+
+    @Test
+    void invalidateIf_givenMatchingKeys_shouldRemoveOnlyThose() {
+        // Arrange
+        cache.put("table1:x", "1");
+        cache.put("table2:y", "2");
+
+        // Act
+        int removed = cache.invalidateIf(key -> key.startsWith("table1:"));
+
+        // Assert
+        assertThat(removed).isEqualTo(1);
+        assertThat(cache.get("table1:x")).isNull();
+        assertThat(cache.get("table2:y")).isEqualTo("2");
+    }
+
+    @Test
+    void constructor_givenNonPositiveSize_shouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new BoundedCache<String, String>(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.qe.queryengine.helper;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import org.jooq.DSLContext;
+import org.jooq.DataType;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.SortField;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginationTest {
+
+    private final DSLContext dsl = DSL.using(SQLDialect.DEFAULT);
+
+    @Test
+    void toSortFields_givenAscAndDescEntries_shouldRenderOrderBy() {
+        // Arrange
+        List<String> sort = List.of("created_date DESC", "id");
+
+        // Act
+        List<SortField<Object>> sortFields = KeysetPagination.toSortFields(sort);
+
+        // Assert
+        assertThat(sortFields).extracting(dsl::render).containsExactly("created_date desc", "id asc");
+    }
+
+    @Test
+    void toSortFields_givenInjectedColumnName_shouldThrowQueryEngineException() {
+        // Act & Assert
+        assertThatThrownBy(() -> KeysetPagination.toSortFields(List.of("id; drop table users")))
+                .isInstanceOf(QueryEngineException.class);
+    }
+
+    @Test
+    void decodeToken_givenEncodedToken_shouldReturnLastRowSortValues() {
+        // Arrange
+        List<String> sort = List.of("amount DESC", "id");
+        Field<BigDecimal> amount = DSL.field("AMOUNT", BigDecimal.class);
+        Field<Integer> id = DSL.field("ID", Integer.class);
+        Record lastRow = dsl.newRecord(amount, id);
+        lastRow.set(amount, new BigDecimal("12.50"));
+        lastRow.set(id, 42);
+
+        // Act
+        String token = KeysetPagination.encodeToken(sort, KeysetPagination.toSortFields(sort), lastRow);
+        Object[] seekValues = KeysetPagination.decodeToken(token, sort);
+
+        // Assert
+        assertThat(seekValues).containsExactly(new BigDecimal("12.50"), 42);
+    }
+
+    @Test
+    void decodeToken_givenTokenFromDifferentSort_shouldThrowQueryEngineException() {
+        // Arrange
+        Field<Integer> id = DSL.field("ID", Integer.class);
+        Record lastRow = dsl.newRecord(id);
+        lastRow.set(id, 42);
+        String token = KeysetPagination.encodeToken(List.of("id"), KeysetPagination.toSortFields(List.of("id")), lastRow);
+
+        // Act & Assert
+        assertThatThrownBy(() -> KeysetPagination.decodeToken(token, List.of("id DESC")))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("does not match");
+    }
+
+    @Test
+    void decodeToken_givenNoToken_shouldReturnNullForFirstPage() {
+        // Act & Assert
+        assertThat(KeysetPagination.decodeToken(null, List.of("id"))).isNull();
+    }
+
+    @Test
+    void seekCondition_givenTwoSortColumns_shouldExpandWithoutRowValueComparison() {
+        // Arrange
+        List<SortField<Object>> sortFields = KeysetPagination.toSortFields(List.of("amount", "id"));
+        List<DataType<?>> dataTypes = List.of(SQLDataType.NUMERIC, SQLDataType.INTEGER);
+
+        // Act
+        String sql = dsl.renderInlined(KeysetPagination.seekCondition(sortFields, dataTypes, new Object[] { 12.5, 42 }));
+
+        // Assert
+        assertThat(sql).isEqualTo("(amount > 12.5 or (amount = 12.5 and id > 42))");
+    }
+
+    @Test
+    void seekCondition_givenDateReadBackAsString_shouldBindAsDate() {
+        // Arrange
+        List<SortField<Object>> sortFields = KeysetPagination.toSortFields(List.of("created_date DESC"));
+
+        // Act
+        String sql = dsl.renderInlined(KeysetPagination.seekCondition(sortFields, List.of(SQLDataType.LOCALDATE), new Object[] { "2025-09-14" }));
+
+        // Assert
+        assertThat(sql).isEqualTo("(created_date < date '2025-09-14' or created_date is null)");
+    }
+
+    @Test
+    void seekCondition_givenNullSortValue_shouldContinueAfterNulls() {
+        // Arrange
+        List<SortField<Object>> sortFields = KeysetPagination.toSortFields(List.of("settled_date", "id"));
+        List<DataType<?>> dataTypes = List.of(SQLDataType.LOCALDATE, SQLDataType.INTEGER);
+
+        // Act
+        String sql = dsl.renderInlined(KeysetPagination.seekCondition(sortFields, dataTypes, new Object[] { null, 42 }));
+
+        // Assert
+        assertThat(sql).isEqualTo("(settled_date is not null or (settled_date is null and id > 42))");
+    }
+
+    @Test
+    void seekCondition_givenValueOfWrongType_shouldThrowQueryEngineException() {
+        // Arrange
+        List<SortField<Object>> sortFields = KeysetPagination.toSortFields(List.of("created_date"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> KeysetPagination.seekCondition(sortFields, List.of(SQLDataType.LOCALDATE), new Object[] { "yesterday" }))
+                .isInstanceOf(QueryEngineException.class);
+    }
+}
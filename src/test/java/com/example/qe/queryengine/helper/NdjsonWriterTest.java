@@ -0,0 +1,69 @@
+package com.example.qe.queryengine.helper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void write_givenLazyCursor_shouldWriteOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:ndjson")) {
+            DSLContext dsl = DSL.using(connection, SQLDialect.H2);
+            dsl.execute("create table people (id int, name varchar(20), joined date)");
+            dsl.execute("insert into people values (1, 'Alice', date '2025-01-02'), (2, null, null)");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // Act
+            long rows;
+            try (Cursor<Record> cursor = dsl.select().from("people").orderBy(DSL.field("id")).fetchLazy()) {
+                rows = NdjsonWriter.write(cursor, out, objectMapper);
+            }
+
+            // Assert
+            assertThat(rows).isEqualTo(2);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                    {"ID":1,"NAME":"Alice","JOINED":"2025-01-02"}
+                    {"ID":2,"NAME":null,"JOINED":null}
+                    """);
+        }
+    }
+
+    @Test
+    void write_givenEmptyCursor_shouldWriteNothing() throws Exception {
+        // Arrange
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:ndjson_empty")) {
+            DSLContext dsl = DSL.using(connection, SQLDialect.H2);
+            dsl.execute("create table people (id int)");
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // Act
+            long rows;
+            try (Cursor<Record> cursor = dsl.select().from("people").fetchLazy()) {
+                rows = NdjsonWriter.write(cursor, out, objectMapper);
+            }
+
+            // Assert
+            assertThat(rows).isZero();
+            assertThat(out.size()).isZero();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.qe.queryengine.helper;
+
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PortableSqlTest {
+
+    private Connection connection;
+    private DSLContext dsl;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:portable;DB_CLOSE_DELAY=-1");
+        dsl = DSL.using(connection, SQLDialect.DEFAULT);
+        dsl.execute("create table items (id int, kind varchar(5))");
+        dsl.execute("insert into items values (1, 'a'), (2, 'b'), (3, 'a'), (4, 'a')");
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void fetchFirst_givenOrderedSelect_shouldRenderOffsetFetchAndReturnFirstRows() {
+        // Arrange
+        var ordered = dsl.select().from("items").where("kind = 'a'").orderBy(DSL.field("id").desc());
+
+        // Act
+        var query = PortableSql.fetchFirst(dsl, ordered, 2);
+
+        // Assert
+        assertThat(dsl.render(query)).endsWith("offset 0 rows fetch next ? rows only").doesNotContain("limit");
+        assertThat(query.fetch().getValues(0, Integer.class)).containsExactly(4, 3);
+    }
+
+    @Test
+    void exists_givenMatchingAndNonMatchingSelect_shouldReturnWhetherAnyRowMatches() {
+        // Act & Assert
+        assertThat(PortableSql.exists(dsl, dsl.selectOne().from("items").where("kind = 'b'"))).isTrue();
+        assertThat(PortableSql.exists(dsl, dsl.selectOne().from("items").where("kind = 'z'"))).isFalse();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.qe.queryengine.helper;
+
+import com.example.qe.queryengine.plan.ConstantConditions;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SharedScanTest {
+
+    private Connection connection;
+    private DSLContext dsl;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:sharedscan;DB_CLOSE_DELAY=-1");
+        dsl = DSL.using(connection, SQLDialect.H2);
+        dsl.execute("create table trade (id int primary key, ccy varchar(3), amount int)");
+        dsl.execute("insert into trade values (1, 'SGD', 100), (2, 'USD', 200), (3, 'SGD', 300), (4, 'EUR', 400)");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        dsl.execute("drop table trade");
+        connection.close();
+    }
+
+    @Test
+    void demultiplex_givenOverlappingFilters_shouldMatchSeparateQueries() {
+        // Arrange
+        List<Condition> conditions = List.of(
+                DSL.field("ccy").eq("SGD"),
+                DSL.field("amount", Integer.class).ge(200),
+                DSL.field("ccy").eq("JPY"));
+        ResultQuery<Record> query = SharedScan.query(dsl, "trade", List.of(DSL.asterisk()), conditions);
+
+        // Act
+        Result<Record> result = query.fetch();
+        List<List<Map<String, Object>>> rows = SharedScan.demultiplex(result, Arrays.asList(null, null, null));
+
+        // Assert
+        assertThat(result).hasSize(4);
+        for (int i = 0; i < conditions.size(); i++) {
+            List<Map<String, Object>> expected = dsl.select().from("trade").where(conditions.get(i)).fetch().intoMaps();
+            assertThat(rows.get(i)).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void demultiplex_givenProjectedFilter_shouldOnlyReturnItsColumns() {
+        // Arrange
+        List<Condition> conditions = List.of(DSL.field("ccy").eq("SGD"), DSL.field("ccy").eq("USD"));
+        ResultQuery<Record> query = SharedScan.query(dsl, "trade",
+                List.of(DSL.field(DSL.name("ID")), DSL.field(DSL.name("CCY"))), conditions);
+
+        // Act
+        List<List<Map<String, Object>>> rows = SharedScan.demultiplex(query.fetch(), Arrays.asList(List.of("ID"), null));
+
+        // Assert
+        assertThat(rows.get(0)).extracting(row -> row.keySet()).containsOnly(Set.of("ID"));
+        assertThat(rows.get(0)).extracting(row -> row.get("ID")).containsExactlyInAnyOrder(1, 3);
+        assertThat(rows.get(1)).containsExactly(Map.of("ID", 2, "CCY", "USD"));
+    }
+
+    @Test
+    void query_givenFilters_shouldFlagEachFilterWithCaseWhen() {
+        // Arrange
+        List<Condition> conditions = List.of(DSL.field("ccy").eq("SGD"), DSL.field("ccy").eq("USD"));
+
+        // Act
+        String sql = dsl.renderInlined(SharedScan.query(dsl, "trade", List.of(DSL.asterisk()), conditions));
+
+        // Assert
+        assertThat(sql).contains("case when ccy = 'SGD' then 1 else 0 end \"qe_match_0\"");
+        assertThat(sql).contains("where (ccy = 'SGD' or ccy = 'USD')");
+    }
+
+    @Test
+    void query_givenTrueFilter_shouldFlagItWithoutCaseWhenAndSelectEveryRow() {
+        // Arrange
+        List<Condition> conditions = List.of(ConstantConditions.of(true), DSL.field("ccy").eq("USD"));
+        ResultQuery<Record> query = SharedScan.query(dsl, "trade", List.of(DSL.asterisk()), conditions);
+
+        // Act
+        List<List<Map<String, Object>>> rows = SharedScan.demultiplex(query.fetch(), Arrays.asList(null, null));
+
+        // Assert
+        assertThat(dsl.renderInlined(query)).doesNotContain("case when 1 = 1").doesNotContain("where");
+        assertThat(rows.get(0)).hasSize(4);
+        assertThat(rows.get(1)).extracting(row -> row.get("ID")).containsExactly(2);
+    }
+
+    @Test
+    void partition_givenFiltersOverBindLimit_shouldSplitThemAcrossScans() {
+        // Arrange
+        Condition threeBinds = DSL.field("ccy").in("SGD", "USD", "EUR");
+        Condition tenBinds = DSL.field("amount", Integer.class).in(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        List<Condition> conditions = List.of(threeBinds, threeBinds, tenBinds, threeBinds, ConstantConditions.of(true));
+
+        // Act
+        List<List<Integer>> groups = SharedScan.partition(dsl, conditions, 12);
+
+        // Assert
+        assertThat(groups).containsExactly(List.of(0, 1), List.of(2), List.of(3, 4));
+        for (List<Integer> group : groups) {
+            ResultQuery<Record> query = SharedScan.query(dsl, "trade", List.of(DSL.asterisk()),
+                    group.stream().map(conditions::get).toList());
+            assertThat(query.getBindValues().size()).isLessThan(13);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.qe.queryengine.integration;
+
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every sargable date operator against H2 with and without the range rewrite
+ * and checks that both forms return exactly the same rows.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SargableDateRewriteIntegrationTest {
+
+    private Connection connection;
+    private DSLContext dsl;
+    private ConditionParser conditionParser;
+    private QueryPlanCompiler castCompiler;
+    private QueryPlanCompiler sargableCompiler;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        OperatorRegistry registry = new OperatorRegistry();
+        new OperatorScanner(registry).scanAndRegister();
+        OperatorFactory factory = new OperatorFactory(registry);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:sargable;DB_CLOSE_DELAY=-1");
+        dsl = DSL.using(connection, SQLDialect.H2);
+        conditionParser = new ConditionParser(factory, dsl);
+        castCompiler = new QueryPlanCompiler(factory, false);
+        sargableCompiler = new QueryPlanCompiler(factory, true);
+
+        dsl.execute("create table events (id int primary key, created_date timestamp)");
+        LocalDate today = LocalDate.now();
+        int id = 0;
+        // Rows at the start, middle and last second of days around the boundaries the operators target
+        for (long offset = -800; offset <= 800; offset++) {
+            long distance = Math.abs(offset);
+            boolean nearYearBoundary = Math.abs(distance - 365) <= 2 || Math.abs(distance - 730) <= 2;
+            if (distance > 40 && offset % 29 != 0 && !nearYearBoundary) {
+                continue;
+            }
+            LocalDate day = today.plusDays(offset);
+            for (LocalTime time : List.of(LocalTime.MIDNIGHT, LocalTime.NOON, LocalTime.of(23, 59, 59))) {
+                dsl.execute("insert into events values (?, ?)", ++id, LocalDateTime.of(day, time));
+            }
+        }
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    static Stream<Arguments> sargableCases() {
+        int lastYear = LocalDate.now().getYear() - 1;
+        return Stream.of("daysBefore", "daysAfter", "monthsBefore", "monthsAfter", "yearsBefore", "yearsAfter", "yearEqual")
+                .flatMap(operator -> Stream.of(0, 1, 2, lastYear).map(value -> Arguments.of(operator, value)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("sargableCases")
+    void bind_givenSargableRewrite_shouldReturnSameRowsAsCastPredicate(String operator, int value) {
+        // Arrange
+        String json = String.format("""
+                {
+                  "type": "DateQuery",
+                  "column": "created_date",
+                  "operatorName": "%s",
+                  "value": %d,
+                  "valueType": "NUMERIC"
+                }
+                """, operator, value);
+
+        // Act
+        Condition castCondition = castCompiler.compile(conditionParser.parseQuery(json)).bind(Map.of());
+        Condition rangeCondition = sargableCompiler.compile(conditionParser.parseQuery(json)).bind(Map.of());
+
+        // Assert
+        assertThat(dsl.renderInlined(rangeCondition)).doesNotContainIgnoringCase("cast").doesNotContainIgnoringCase("year(");
+        assertThat(fetchIds(rangeCondition)).isEqualTo(fetchIds(castCondition));
+    }
+
+    private List<Integer> fetchIds(Condition condition) {
+        return dsl.select(DSL.field("id", Integer.class))
+                .from(DSL.table("events"))
+                .where(condition)
+                .orderBy(DSL.field("id"))
+                .fetchInto(Integer.class);
+    }
+}
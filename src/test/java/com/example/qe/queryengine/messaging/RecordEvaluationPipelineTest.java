@@ -0,0 +1,175 @@
+package com.example.qe.queryengine.messaging;
+
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.percolator.Percolator;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import com.example.qe.queryengine.plan.RowPredicateCompiler;
+import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.query.RecordMatchDto;
+import com.example.qe.queryengine.replaceable.ReplaceableFactory;
+import com.example.qe.queryengine.replaceable.ReplaceableRegistry;
+import com.example.qe.queryengine.replaceable.ReplaceableResolver;
+import com.example.qe.queryengine.replaceable.ReplaceableScanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordEvaluationPipelineTest {
+
+    // Stands in for the output exchange
+    private final List<RecordMatchDto> published = new ArrayList<>();
+    private Percolator percolator;
+
+    @BeforeEach
+    void setUp() {
+        OperatorRegistry operatorRegistry = new OperatorRegistry();
+        new OperatorScanner(operatorRegistry).scanAndRegister();
+        OperatorFactory operatorFactory = new OperatorFactory(operatorRegistry);
+        ReplaceableRegistry replaceableRegistry = new ReplaceableRegistry();
+        new ReplaceableScanner(replaceableRegistry).scanAndRegister();
+        percolator = new Percolator(new ConditionParser(operatorFactory, DSL.using(SQLDialect.DEFAULT)),
+                new QueryPlanCompiler(operatorFactory, false), new RowPredicateCompiler(operatorFactory, false),
+                new ReplaceableResolver(new ReplaceableFactory(replaceableRegistry)));
+        percolator.register(savedQuery("sgd", "Trade", """
+                { "type": "StringQuery", "column": "ccy", "operatorName": "equals", "value": "SGD", "valueType": "STRING" }
+                """));
+        percolator.register(savedQuery("large", "Trade", """
+                { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThan", "value": 1000, "valueType": "NUMERIC" }
+                """));
+        percolator.register(savedQuery("long", "Position", """
+                { "type": "NumericQuery", "column": "quantity", "operatorName": "greaterThan", "value": 0, "valueType": "NUMERIC" }
+                """));
+    }
+
+    @Test
+    void process_givenBatch_shouldPublishOnlyMatchingRecords() {
+        // Arrange
+        RecordEvaluationPipeline pipeline = pipeline("Trade");
+        List<Message> batch = List.of(
+                message("m1", null, "{\"ccy\": \"SGD\", \"amount\": 5000}"),
+                message("m2", null, "{\"ccy\": \"USD\", \"amount\": 10}"),
+                message("m3", "Position", "{\"quantity\": 7}"),
+                message("m4", "Trade", "{\"ccy\": \"SGD\", \"amount\": 1}"));
+
+        // Act
+        pipeline.process(batch);
+
+        // Assert
+        assertThat(published).extracting(RecordMatchDto::getMessageId).containsExactly("m1", "m4", "m3");
+        assertThat(published.get(0).getQueryIds()).containsExactly("sgd", "large");
+        assertThat(published.get(0).getRecord()).containsEntry("ccy", "SGD");
+        assertThat(published.get(2).getTableName()).isEqualTo("Position");
+        assertThat(published.get(2).getQueryIds()).containsExactly("long");
+    }
+
+    @Test
+    void process_givenMalformedMessages_shouldSkipThemAndMatchTheRest() {
+        // Arrange
+        RecordEvaluationPipeline pipeline = pipeline("");
+        List<Message> batch = List.of(
+                message("bad-json", "Trade", "{not json"),
+                message("no-table", null, "{\"ccy\": \"SGD\"}"),
+                message("ok", "Trade", "{\"ccy\": \"SGD\"}"));
+
+        // Act
+        List<RecordMatchDto> matches = pipeline.process(batch);
+
+        // Assert
+        assertThat(matches).extracting(RecordMatchDto::getMessageId).containsExactly("ok");
+        assertThat(published).hasSize(1);
+    }
+
+    @Test
+    void process_givenRecordThatCannotBeCompared_shouldDropItAndPublishTheRest() {
+        // Arrange
+        RecordEvaluationPipeline pipeline = pipeline("Trade");
+        List<Message> batch = List.of(
+                message("m1", null, "{\"ccy\": \"SGD\", \"amount\": 5000}"),
+                message("poison", null, "{\"ccy\": \"USD\", \"amount\": \"abc\"}"),
+                message("m3", null, "{\"ccy\": \"SGD\", \"amount\": 1}"));
+
+        // Act
+        List<RecordMatchDto> matches = pipeline.process(batch);
+
+        // Assert
+        assertThat(matches).extracting(RecordMatchDto::getMessageId).containsExactly("m1", "m3");
+        assertThat(published).hasSize(2);
+    }
+
+    @Test
+    void process_givenRecordWithMalformedDate_shouldDropItAndPublishTheRest() {
+        // Arrange
+        percolator.register(savedQuery("settled", "Trade", """
+                { "type": "DateQuery", "column": "tradeDate", "operatorName": "greaterThan", "value": "2025-01-01", "valueType": "DATE" }
+                """));
+        RecordEvaluationPipeline pipeline = pipeline("Trade");
+        List<Message> batch = List.of(
+                message("m1", null, "{\"ccy\": \"SGD\", \"tradeDate\": \"2025-02-01\"}"),
+                message("poison", null, "{\"ccy\": \"SGD\", \"tradeDate\": \"2025-13-01\"}"));
+
+        // Act
+        List<RecordMatchDto> matches = pipeline.process(batch);
+
+        // Assert
+        assertThat(matches).extracting(RecordMatchDto::getMessageId).containsExactly("m1");
+    }
+
+    @Test
+    void process_givenNoMatches_shouldNotPublish() {
+        // Arrange
+        AtomicInteger publishCalls = new AtomicInteger();
+        RecordEvaluationPipeline pipeline = new RecordEvaluationPipeline(percolator,
+                matches -> publishCalls.incrementAndGet(), new ObjectMapper(), "Trade");
+
+        // Act
+        pipeline.process(List.of(message("m1", null, "{\"ccy\": \"USD\", \"amount\": 10}")));
+
+        // Assert
+        assertThat(publishCalls.get()).isZero();
+    }
+
+    @Test
+    void process_givenPublisherFailure_shouldPropagateSoBatchIsRedelivered() {
+        // Arrange
+        RecordEvaluationPipeline pipeline = new RecordEvaluationPipeline(percolator, matches -> {
+            throw new IllegalStateException("Broker unavailable");
+        }, new ObjectMapper(), "Trade");
+
+        // Act & Assert
+        assertThatThrownBy(() -> pipeline.onRecords(List.of(message("m1", null, "{\"ccy\": \"SGD\"}"))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Broker unavailable");
+    }
+
+    private RecordEvaluationPipeline pipeline(String defaultTableName) {
+        return new RecordEvaluationPipeline(percolator, published::addAll, new ObjectMapper(), defaultTableName);
+    }
+
+    private static Message message(String id, String tableName, String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(id);
+        if (tableName != null) {
+            properties.setHeader(RecordEvaluationPipeline.TABLE_NAME_HEADER, tableName);
+        }
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private static QueryContextDto savedQuery(String id, String tableName, String json) {
+        return QueryContextDto.builder().requestId(id).tableName(tableName).json(json).build();
+    }
+}
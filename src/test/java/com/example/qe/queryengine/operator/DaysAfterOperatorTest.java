@@ -3,6 +3,7 @@ package com.example.qe.queryengine.operator;
 import com.example.qe.queryengine.exception.InvalidQueryException;
 import com.example.qe.queryengine.operator.impl.DaysAfterOperator;
 import com.example.qe.queryengine.operator.impl.DaysBeforeOperator;
+import com.example.qe.queryengine.query.EvaluationContext;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.SQLDialect;
@@ -118,4 +119,23 @@ class DaysAfterOperatorTest {
         Condition condition = operator.evaluate(dateStr, days);
         assertEquals("(1 = 0)", condition.toString());
     }
+
+    // --- Request clock snapshot ---
+    @Test
+    void apply_givenEvaluationContext_shouldUseContextDate() {
+        EvaluationContext context = new EvaluationContext(null, LocalDate.of(2025, 1, 1), (placeholder, ctx) -> null);
+
+        Condition condition = operator.apply(validField, BigDecimal.ONE, context);
+        String sql = renderSql(condition);
+
+        assertTrue(sql.contains("2024-12-31"), "Expected SQL to use the context date, but got: " + sql);
+    }
+
+    @Test
+    void test_givenEvaluationContext_shouldUseContextDate() {
+        EvaluationContext context = new EvaluationContext(null, LocalDate.of(2025, 1, 1), (placeholder, ctx) -> null);
+
+        assertTrue(operator.test("2024-12-31", BigDecimal.ONE, context));
+        assertFalse(operator.test(dateStr, BigDecimal.ONE, context));
+    }
 }
@@ -205,4 +205,14 @@ class EqualsOperatorTest {
         Condition condition = operator.evaluate("1900-09-14", dateStr);
         assertEquals("(1 = 0)", condition.toString());
     }
+
+    @Test
+    void applyParam_givenNamedParam_shouldRenderBindMarkerInsteadOfValue() {
+        Field<String> field = DSL.field("employee_id", String.class);
+
+        Condition condition = operator.applyParam(field, DSL.param("me", "Alice"));
+
+        assertEquals("employee_id = :me", DSL.using(SQLDialect.DEFAULT).renderNamedParams(condition));
+        assertEquals("Alice", DSL.using(SQLDialect.DEFAULT).extractParam(condition, "me").getValue());
+    }
 }
@@ -0,0 +1,143 @@
+package com.example.qe.queryengine.operator;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.operator.impl.InOperator;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InOperatorTest {
+
+    private final DSLContext dsl = DSL.using(SQLDialect.DEFAULT);
+    private InOperator operator;
+
+    @BeforeEach
+    void setUp() {
+        operator = new InOperator();
+    }
+
+    @Test
+    void apply_givenStringValues_shouldReturnInCondition() {
+        // Arrange
+        Field<String> field = DSL.field("status", String.class);
+
+        // Act
+        Condition condition = operator.apply(field, List.of("OPEN", "CLOSED"));
+
+        // Assert
+        assertEquals("status in ('OPEN', 'CLOSED')", dsl.renderInlined(condition));
+    }
+
+    @Test
+    void apply_givenNullAmongValues_shouldAlsoMatchNull() {
+        // Arrange
+        Field<BigDecimal> field = DSL.field("amount", BigDecimal.class);
+
+        // Act
+        Condition condition = operator.apply(field, Arrays.asList(BigDecimal.ONE, null));
+
+        // Assert
+        assertEquals("(amount in (1) or amount is null)", dsl.renderInlined(condition));
+    }
+
+    @Test
+    void apply_givenOnlyNullValues_shouldMatchOnlyNull() {
+        // Arrange
+        Field<String> field = DSL.field("status", String.class);
+
+        // Act
+        Condition condition = operator.apply(field, Arrays.asList(null, null));
+
+        // Assert
+        assertEquals("status is null", dsl.renderInlined(condition));
+    }
+
+    @Test
+    void apply_givenLargeListOfNumbers_shouldWriteThemWithoutExponent() {
+        // Arrange
+        Field<BigDecimal> field = DSL.field("amount", BigDecimal.class);
+        List<BigDecimal> values = IntStream.range(0, InOperator.LARGE_LIST_THRESHOLD + 1)
+                .mapToObj(i -> new BigDecimal((i + 1) + "E+3"))
+                .toList();
+
+        // Act
+        Condition condition = operator.apply(field, values);
+
+        // Assert
+        assertTrue(dsl.extractBindValues(condition).get(0).toString().startsWith("[1000,2000,"));
+    }
+
+    @Test
+    void apply_givenLargeList_shouldBindSingleJsonArrayParameter() {
+        // Arrange
+        Field<String> field = DSL.field("code", String.class);
+        List<String> values = IntStream.range(0, InOperator.LARGE_LIST_THRESHOLD + 1).mapToObj(i -> "c" + i).toList();
+
+        // Act
+        Condition condition = operator.apply(field, values);
+
+        // Assert
+        assertTrue(dsl.render(condition).contains("openjson(?) with (value nvarchar(4000) '$')"));
+        assertEquals(1, dsl.extractBindValues(condition).size());
+    }
+
+    @Test
+    void apply_givenLargeListOfDecimals_shouldTypeJsonValuesToHoldEveryValue() {
+        // Arrange
+        Field<BigDecimal> field = DSL.field("amount", BigDecimal.class);
+        List<BigDecimal> values = IntStream.range(0, InOperator.LARGE_LIST_THRESHOLD + 1)
+                .mapToObj(i -> new BigDecimal(i + ".25"))
+                .toList();
+
+        // Act
+        Condition condition = operator.apply(field, values);
+
+        // Assert
+        assertTrue(dsl.render(condition).contains("openjson(?) with (value decimal(38, 2) '$')"));
+    }
+
+    @Test
+    void apply_givenLargeListOfDates_shouldTypeJsonValuesAsDates() {
+        // Arrange
+        Field<LocalDate> field = DSL.field("trade_date", LocalDate.class);
+        List<LocalDate> values = IntStream.range(0, InOperator.LARGE_LIST_THRESHOLD + 1)
+                .mapToObj(i -> LocalDate.of(2025, 1, 1).plusDays(i))
+                .toList();
+
+        // Act
+        Condition condition = operator.apply(field, values);
+
+        // Assert
+        assertTrue(dsl.render(condition).contains("openjson(?) with (value date '$')"));
+    }
+
+    @Test
+    void apply_givenEmptyList_shouldThrowInvalidQueryException() {
+        // Arrange
+        Field<String> field = DSL.field("status", String.class);
+
+        // Act & Assert
+        assertThrows(InvalidQueryException.class, () -> operator.apply(field, List.of()));
+    }
+
+    @Test
+    void apply_givenScalarValue_shouldThrowInvalidQueryException() {
+        // Arrange
+        Field<String> field = DSL.field("status", String.class);
+
+        // Act & Assert
+        assertThrows(InvalidQueryException.class, () -> operator.apply(field, "OPEN"));
+    }
+}
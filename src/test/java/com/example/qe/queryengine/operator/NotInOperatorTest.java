@@ -0,0 +1,61 @@
+package com.example.qe.queryengine.operator;
+
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.operator.impl.NotInOperator;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotInOperatorTest {
+
+    private final DSLContext dsl = DSL.using(SQLDialect.DEFAULT);
+    private NotInOperator operator;
+
+    @BeforeEach
+    void setUp() {
+        operator = new NotInOperator();
+    }
+
+    @Test
+    void apply_givenStringValues_shouldReturnNotInCondition() {
+        // Arrange
+        Field<String> field = DSL.field("status", String.class);
+
+        // Act
+        Condition condition = operator.apply(field, List.of("OPEN", "CLOSED"));
+
+        // Assert
+        assertEquals("status not in ('OPEN', 'CLOSED')", dsl.renderInlined(condition));
+    }
+
+    @Test
+    void apply_givenNullAmongValues_shouldExcludeNull() {
+        // Arrange
+        Field<BigDecimal> field = DSL.field("amount", BigDecimal.class);
+
+        // Act
+        Condition condition = operator.apply(field, Arrays.asList(BigDecimal.ONE, null));
+
+        // Assert
+        assertEquals("(amount not in (1) and amount is not null)", dsl.renderInlined(condition));
+    }
+
+    @Test
+    void apply_givenNullValue_shouldThrowInvalidQueryException() {
+        // Arrange
+        Field<String> field = DSL.field("status", String.class);
+
+        // Act & Assert
+        assertThrows(InvalidQueryException.class, () -> operator.apply(field, null));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.qe.queryengine.operator;
 
+import com.example.qe.queryengine.query.ValueType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -74,4 +75,52 @@ class OperatorRegistryTest {
     void getOperator_returnsNullForUnregisteredName() {
         assertNull(registry.getOperator("notRegistered"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getDispatchTable_returnsOperatorForSupportedTypes() {
+        registry.register("equals", new Class[]{String.class, BigDecimal.class}, new Class[]{String.class, BigDecimal.class}, equalsOperator);
+        registry.register("dayEqual", new Class[]{LocalDate.class}, new Class[]{BigDecimal.class}, dayEqualOperator);
+
+        OperatorDispatchTable table = registry.getDispatchTable();
+        int equalsId = table.idOf("equals");
+        int dayEqualId = table.idOf("dayEqual");
+
+        assertEquals(equalsOperator, table.get(equalsId, ValueType.STRING, ValueType.STRING));
+        assertEquals(equalsOperator, table.get(equalsId, ValueType.NUMERIC, ValueType.NUMERIC));
+        assertEquals(dayEqualOperator, table.get(dayEqualId, ValueType.DATE, ValueType.NUMERIC));
+        assertNull(table.get(equalsId, ValueType.DATE, ValueType.STRING));
+        assertNull(table.get(dayEqualId, ValueType.DATE, ValueType.DATE));
+    }
+
+    @Test
+    void getDispatchTable_returnsNullForUnknownOperator() {
+        registry.register("equals", new Class[]{String.class}, new Class[]{String.class}, equalsOperator);
+
+        OperatorDispatchTable table = registry.getDispatchTable();
+
+        assertEquals(OperatorDispatchTable.UNKNOWN_OPERATOR, table.idOf("unknown"));
+        assertNull(table.get(table.idOf("unknown"), ValueType.STRING, ValueType.STRING));
+        assertNull(table.expectedValueType(table.idOf("unknown"), ValueType.STRING));
+    }
+
+    @Test
+    void getDispatchTable_expectedValueType_prefersFieldTypeThenFirstRegistered() {
+        registry.register("equals", new Class[]{String.class, BigDecimal.class}, new Class[]{String.class, BigDecimal.class}, equalsOperator);
+        registry.register("dayEqual", new Class[]{LocalDate.class}, new Class[]{BigDecimal.class}, dayEqualOperator);
+
+        OperatorDispatchTable table = registry.getDispatchTable();
+
+        assertEquals(ValueType.NUMERIC, table.expectedValueType(table.idOf("equals"), ValueType.NUMERIC));
+        assertEquals(ValueType.NUMERIC, table.expectedValueType(table.idOf("dayEqual"), ValueType.DATE));
+    }
+
+    @Test
+    void register_afterFreeze_throwsIllegalStateException() {
+        registry.register("equals", new Class[]{String.class}, new Class[]{String.class}, equalsOperator);
+        registry.freeze();
+
+        assertThrows(IllegalStateException.class,
+                () -> registry.register("dayEqual", new Class[]{LocalDate.class}, new Class[]{BigDecimal.class}, dayEqualOperator));
+        assertEquals(equalsOperator, registry.getDispatchTable().get(registry.getDispatchTable().idOf("equals"), ValueType.STRING, ValueType.STRING));
+    }
+}
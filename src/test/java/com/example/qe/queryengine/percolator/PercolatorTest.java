@@ -0,0 +1,169 @@
+package com.example.qe.queryengine.percolator;
+
+import com.example.qe.queryengine.exception.QueryEngineException;
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.plan.QueryPlanCompiler;
+import com.example.qe.queryengine.plan.RowPredicateCompiler;
+import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.replaceable.ReplaceableFactory;
+import com.example.qe.queryengine.replaceable.ReplaceableRegistry;
+import com.example.qe.queryengine.replaceable.ReplaceableResolver;
+import com.example.qe.queryengine.replaceable.ReplaceableScanner;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PercolatorTest {
+
+    private ConditionParser conditionParser;
+    private QueryPlanCompiler planCompiler;
+    private Percolator percolator;
+
+    @BeforeEach
+    void setUp() {
+        OperatorRegistry operatorRegistry = new OperatorRegistry();
+        new OperatorScanner(operatorRegistry).scanAndRegister();
+        OperatorFactory operatorFactory = new OperatorFactory(operatorRegistry);
+        ReplaceableRegistry replaceableRegistry = new ReplaceableRegistry();
+        new ReplaceableScanner(replaceableRegistry).scanAndRegister();
+        conditionParser = new ConditionParser(operatorFactory, DSL.using(SQLDialect.DEFAULT));
+        planCompiler = new QueryPlanCompiler(operatorFactory, false);
+        percolator = new Percolator(conditionParser, planCompiler, new RowPredicateCompiler(operatorFactory, false),
+                new ReplaceableResolver(new ReplaceableFactory(replaceableRegistry)));
+    }
+
+    @Test
+    void match_givenRecords_shouldReturnIdsOfMatchingQueries() {
+        // Arrange
+        percolator.register(savedQuery("sgd", "Trade", field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING"), null));
+        percolator.register(savedQuery("large", "Trade", field("NumericQuery", "amount", "greaterThanEqual", "1000", "NUMERIC"), null));
+        percolator.register(savedQuery("mine", "Trade", or(
+                field("StringQuery", "trader", "equals", "\"[me]\"", "STRING"),
+                field("StringQuery", "ccy", "in", "[\"JPY\", \"EUR\"]", "STRING")), "alice"));
+
+        // Act
+        List<List<String>> matches = percolator.match("trade", List.of(
+                Map.of("CCY", "SGD", "AMOUNT", 1500, "TRADER", "bob"),
+                Map.of("ccy", "USD", "amount", 10, "trader", "alice"),
+                Map.of("ccy", "EUR", "amount", 999.99, "trader", "bob")));
+
+        // Assert
+        assertThat(matches).containsExactly(List.of("sgd", "large"), List.of("mine"), List.of("mine"));
+    }
+
+    @Test
+    void candidates_givenIndexedQueries_shouldSkipQueriesRuledOutByIndex() {
+        // Arrange
+        PercolatorIndex index = new PercolatorIndex(List.of(
+                indexed("sgd", field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING")),
+                indexed("large", field("NumericQuery", "amount", "greaterThan", "100", "NUMERIC")),
+                indexed("range", and(
+                        field("NumericQuery", "amount", "greaterThan", "10", "NUMERIC"),
+                        field("StringQuery", "ccy", "in", "[\"USD\", \"EUR\"]", "STRING"))),
+                indexed("prefix", field("StringQuery", "ccy", "startsWith", "\"S\"", "STRING"))), false);
+
+        // Act
+        BitSet candidates = index.candidates(Map.of("ccy", "USD", "amount", 50));
+
+        // Assert
+        assertThat(candidates.stream().boxed().toList()).containsExactly(2, 3);
+    }
+
+    @Test
+    void match_givenCaseInsensitiveCompiler_shouldMatchStringsIgnoringCase() {
+        // Arrange
+        OperatorRegistry operatorRegistry = new OperatorRegistry();
+        new OperatorScanner(operatorRegistry).scanAndRegister();
+        OperatorFactory operatorFactory = new OperatorFactory(operatorRegistry);
+        ReplaceableRegistry replaceableRegistry = new ReplaceableRegistry();
+        new ReplaceableScanner(replaceableRegistry).scanAndRegister();
+        Percolator ignoringCase = new Percolator(conditionParser, planCompiler, new RowPredicateCompiler(operatorFactory, true),
+                new ReplaceableResolver(new ReplaceableFactory(replaceableRegistry)));
+        ignoringCase.register(savedQuery("sgd", "Trade", field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING"), null));
+        ignoringCase.register(savedQuery("majors", "Trade", field("StringQuery", "ccy", "in", "[\"USD\", \"EUR\"]", "STRING"), null));
+        ignoringCase.register(savedQuery("desk", "Trade", field("StringQuery", "book", "startsWith", "\"FX\"", "STRING"), null));
+
+        // Act
+        List<List<String>> matches = ignoringCase.match("trade", List.of(
+                Map.of("ccy", "sgd", "book", "fx-spot"),
+                Map.of("ccy", "Eur", "book", "RATES")));
+
+        // Assert
+        assertThat(matches).containsExactly(List.of("sgd", "desk"), List.of("majors"));
+        assertThat(percolatorMatches(Map.of("ccy", "sgd"))).isEmpty();
+    }
+
+    @Test
+    void match_givenRemovedQuery_shouldNoLongerMatch() {
+        // Arrange
+        percolator.register(savedQuery("sgd", "Trade", field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING"), null));
+        percolator.register(savedQuery("usd", "Trade", field("StringQuery", "ccy", "equals", "\"USD\"", "STRING"), null));
+
+        // Act
+        boolean removed = percolator.remove("sgd");
+
+        // Assert
+        assertThat(removed).isTrue();
+        assertThat(percolator.size()).isEqualTo(1);
+        assertThat(percolator.match("Trade", Map.of("ccy", "SGD"))).isEmpty();
+        assertThat(percolator.remove("sgd")).isFalse();
+    }
+
+    @Test
+    void match_givenOtherTable_shouldReturnNoMatches() {
+        // Arrange
+        percolator.register(savedQuery("sgd", "Trade", field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING"), null));
+
+        // Act
+        List<String> matches = percolator.match("Position", Map.of("ccy", "SGD"));
+
+        // Assert
+        assertThat(matches).isEmpty();
+    }
+
+    @Test
+    void register_givenMissingTableName_shouldThrowQueryEngineException() {
+        // Act & Assert
+        assertThatThrownBy(() -> percolator.register(savedQuery("sgd", null, field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING"), null)))
+                .isInstanceOf(QueryEngineException.class)
+                .hasMessageContaining("needs a tableName");
+    }
+
+    private List<String> percolatorMatches(Map<String, ?> record) {
+        percolator.register(savedQuery("sgd", "Trade", field("StringQuery", "ccy", "equals", "\"SGD\"", "STRING"), null));
+        return percolator.match("trade", record);
+    }
+
+    private SavedQuery indexed(String id, String json) {
+        return new SavedQuery(id, "trade", savedQuery(id, "Trade", json, null), planCompiler.compile(conditionParser.parseQuery(json)));
+    }
+
+    private static QueryContextDto savedQuery(String id, String tableName, String json, String createdBy) {
+        return QueryContextDto.builder().requestId(id).tableName(tableName).json(json).createdBy(createdBy).build();
+    }
+
+    private static String field(String type, String column, String operator, String value, String valueType) {
+        return """
+                { "type": "%s", "column": "%s", "operatorName": "%s", "value": %s, "valueType": "%s" }
+                """.formatted(type, column, operator, value, valueType);
+    }
+
+    private static String and(String... children) {
+        return "{ \"type\": \"AndQuery\", \"children\": [" + String.join(",", children) + "] }";
+    }
+
+    private static String or(String... children) {
+        return "{ \"type\": \"OrQuery\", \"children\": [" + String.join(",", children) + "] }";
+    }
+}
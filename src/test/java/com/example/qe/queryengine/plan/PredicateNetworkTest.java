@@ -0,0 +1,140 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PredicateNetworkTest {
+
+    private static final EvaluationContext CONTEXT =
+            new EvaluationContext(null, LocalDate.of(2025, 9, 14), (placeholder, context) -> null);
+
+    private static final String ACTIVE = field("BoolQuery", "is_active", "equals", "true", "BOOLEAN");
+    private static final String SALES = field("StringQuery", "department", "equals", "\"Sales\"", "STRING");
+
+    private ConditionParser conditionParser;
+    private QueryPlanCompiler planCompiler;
+    private RowPredicateCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        OperatorRegistry registry = new OperatorRegistry();
+        new OperatorScanner(registry).scanAndRegister();
+        OperatorFactory factory = new OperatorFactory(registry);
+        conditionParser = new ConditionParser(factory, DSL.using(SQLDialect.DEFAULT));
+        planCompiler = new QueryPlanCompiler(factory, false);
+        compiler = new RowPredicateCompiler(factory, false);
+    }
+
+    @Test
+    void add_givenRulesWithSharedPredicates_shouldCreateEachPredicateOnce() {
+        // Arrange
+        PredicateNetwork.Builder<Map<String, ?>> builder = compiler.networkBuilder(RowAccessor.ofMap());
+
+        // Act
+        int first = builder.add(plan(and(ACTIVE, SALES)), CONTEXT);
+        int reordered = builder.add(plan(and(SALES, ACTIVE, SALES)), CONTEXT);
+        int extended = builder.add(plan(or(and(ACTIVE, SALES), field("NumericQuery", "amount", "greaterThan", "100", "NUMERIC"))), CONTEXT);
+        PredicateNetwork<Map<String, ?>> network = builder.build();
+
+        // Assert
+        assertThat(reordered).isEqualTo(first);
+        assertThat(extended).isNotEqualTo(first);
+        // Two constants, three leaves, the AND and the OR
+        assertThat(network.size()).isEqualTo(7);
+    }
+
+    @Test
+    void test_givenSharedPredicate_shouldEvaluateItOncePerRow() {
+        // Arrange
+        List<String> reads = new ArrayList<>();
+        RowAccessor<Map<String, ?>> accessor = (row, column) -> {
+            reads.add(column);
+            return row.get(column);
+        };
+        PredicateNetwork.Builder<Map<String, ?>> builder = compiler.networkBuilder(accessor);
+        List<Integer> roots = new ArrayList<>();
+        for (int threshold = 0; threshold < 5; threshold++) {
+            roots.add(builder.add(plan(and(ACTIVE, SALES, field("NumericQuery", "amount", "greaterThan", String.valueOf(threshold * 100), "NUMERIC"))), CONTEXT));
+        }
+        PredicateNetwork<Map<String, ?>>.Evaluation evaluation = builder.build().newEvaluation();
+
+        // Act
+        evaluation.reset(Map.of("is_active", true, "department", "Sales", "amount", 250));
+        List<Boolean> matches = roots.stream().map(evaluation::test).toList();
+
+        // Assert
+        assertThat(matches).containsExactly(true, true, true, false, false);
+        assertThat(reads).filteredOn("is_active"::equals).hasSize(1);
+        assertThat(reads).filteredOn("department"::equals).hasSize(1);
+        assertThat(reads).filteredOn("amount"::equals).hasSize(5);
+    }
+
+    @Test
+    void test_givenNextRow_shouldNotReuseResultsOfPreviousRow() {
+        // Arrange
+        PredicateNetwork.Builder<Map<String, ?>> builder = compiler.networkBuilder(RowAccessor.ofMap());
+        int root = builder.add(plan(and(ACTIVE, SALES)), CONTEXT);
+        PredicateNetwork<Map<String, ?>>.Evaluation evaluation = builder.build().newEvaluation();
+
+        // Act
+        boolean first = evaluation.reset(Map.of("is_active", true, "department", "Sales")).test(root);
+        boolean second = evaluation.reset(Map.of("is_active", false, "department", "Sales")).test(root);
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+    }
+
+    @Test
+    void add_givenRunConditions_shouldFoldThemLikeBinding() {
+        // Arrange
+        String weekday = "{ \"type\": \"JavaQuery\", \"placeholder\": \"2025-09-15\", \"operatorName\": \"dayOfWeek\", \"value\": 1, \"valueType\": \"NUMERIC\" }";
+        String weekend = "{ \"type\": \"JavaQuery\", \"placeholder\": \"2025-09-15\", \"operatorName\": \"dayOfWeek\", \"value\": 7, \"valueType\": \"NUMERIC\" }";
+        PredicateNetwork.Builder<Map<String, ?>> builder = compiler.networkBuilder(RowAccessor.ofMap());
+
+        // Act
+        int always = builder.add(plan(or(weekday, SALES)), CONTEXT);
+        int never = builder.add(plan(and(weekend, SALES)), CONTEXT);
+        int sales = builder.add(plan(and(weekday, SALES)), CONTEXT);
+        PredicateNetwork<Map<String, ?>>.Evaluation evaluation = builder.build().newEvaluation()
+                .reset(Map.of("department", "Sales"));
+
+        // Assert
+        assertThat(evaluation.test(always)).isTrue();
+        assertThat(evaluation.test(never)).isFalse();
+        assertThat(evaluation.test(sales)).isTrue();
+        assertThat(sales).isEqualTo(builder.add(plan(SALES), CONTEXT));
+    }
+
+    private QueryPlan plan(String json) {
+        return planCompiler.compile(conditionParser.parseQuery(json));
+    }
+
+    private static String field(String type, String column, String operator, String value, String valueType) {
+        return """
+                { "type": "%s", "column": "%s", "operatorName": "%s", "value": %s, "valueType": "%s" }
+                """.formatted(type, column, operator, value, valueType);
+    }
+
+    private static String and(String... children) {
+        return "{ \"type\": \"AndQuery\", \"children\": [" + String.join(",", children) + "] }";
+    }
+
+    private static String or(String... children) {
+        return "{ \"type\": \"OrQuery\", \"children\": [" + String.join(",", children) + "] }";
+    }
+}
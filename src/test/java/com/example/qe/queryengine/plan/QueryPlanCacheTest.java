@@ -0,0 +1,83 @@
+package com.example.qe.queryengine.plan;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class QueryPlanCacheTest {
+
+    private QueryPlanCache cache;
+    private AtomicInteger compilations;
+
+    @BeforeEach
+    void setUp() {
+        cache = new QueryPlanCache(true, 100, Duration.ofMinutes(5));
+        compilations = new AtomicInteger();
+    }
+
+    private QueryPlan compile(String json) {
+        compilations.incrementAndGet();
+        return new QueryPlan(mock(PlanNode.class), Set.of());
+    }
+
+    @Test
+    void getOrCompile_givenSameJsonWithDifferentFormatting_shouldCompileOnce() {
+        // Arrange
+        String compact = "{\"type\":\"StringQuery\",\"column\":\"name\",\"value\":\"a b\"}";
+        String pretty = """
+                {
+                  "type": "StringQuery",
+                  "column": "name",
+                  "value": "a b"
+                }
+                """;
+
+        // Act
+        QueryPlan first = cache.getOrCompile(compact, this::compile);
+        QueryPlan second = cache.getOrCompile(pretty, this::compile);
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(compilations.get()).isEqualTo(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void getOrCompile_givenWhitespaceInsideStringValue_shouldTreatAsDifferentQuery() {
+        // Act
+        cache.getOrCompile("{\"value\":\"a b\"}", this::compile);
+        cache.getOrCompile("{\"value\":\"ab\"}", this::compile);
+
+        // Assert
+        assertThat(compilations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void normalize_givenEscapedQuotes_shouldKeepStringContentIntact() {
+        // Act
+        String normalized = QueryPlanCache.normalize("{ \"value\" : \"say \\\" hi \" }");
+
+        // Assert
+        assertThat(normalized).isEqualTo("{\"value\":\"say \\\" hi \"}");
+    }
+
+    @Test
+    void invalidateAll_givenCachedPlan_shouldRecompileOnNextRequest() {
+        // Arrange
+        cache.getOrCompile("{}", this::compile);
+
+        // Act
+        cache.invalidateAll();
+        cache.getOrCompile("{}", this::compile);
+
+        // Assert
+        assertThat(compilations.get()).isEqualTo(2);
+    }
+}
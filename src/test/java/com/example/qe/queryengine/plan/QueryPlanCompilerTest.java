@@ -0,0 +1,269 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.exception.FieldTypeMismatchException;
+import com.example.qe.queryengine.exception.InvalidQueryException;
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanCompilerTest {
+
+    private ConditionParser conditionParser;
+    private QueryPlanCompiler compiler;
+    private DSLContext dsl;
+
+    @BeforeAll
+    void setUp() {
+        OperatorRegistry registry = new OperatorRegistry();
+        new OperatorScanner(registry).scanAndRegister();
+        OperatorFactory factory = new OperatorFactory(registry);
+        dsl = DSL.using(SQLDialect.DEFAULT);
+        conditionParser = new ConditionParser(factory, dsl);
+        compiler = new QueryPlanCompiler(factory, false);
+    }
+
+    private QueryPlan compile(String json) {
+        return compiler.compile(conditionParser.parseQuery(json));
+    }
+
+    @Test
+    void compile_givenPlaceholders_shouldCollectThemAndBindPerRequest() {
+        // Arrange
+        String json = """
+                {
+                  "type": "AndQuery",
+                  "children": [
+                    {
+                      "type": "StringQuery",
+                      "column": "employee_id",
+                      "operatorName": "equals",
+                      "value": "[me]",
+                      "valueType": "STRING"
+                    },
+                    {
+                      "type": "DateQuery",
+                      "column": "created_date",
+                      "operatorName": "greaterThan",
+                      "value": "[today]",
+                      "valueType": "DATE"
+                    }
+                  ]
+                }
+                """;
+
+        // Act
+        QueryPlan plan = compile(json);
+        String aliceSql = dsl.renderInlined(plan.bind(Map.of("[me]", "alice", "[today]", "2025-09-14")));
+        String bobSql = dsl.renderInlined(plan.bind(Map.of("[me]", "bob", "[today]", "2025-09-15")));
+
+        // Assert
+        assertThat(plan.getPlaceholders()).containsExactlyInAnyOrder("[me]", "[today]");
+        assertThat(aliceSql).contains("employee_id = 'alice'").contains("2025-09-14");
+        assertThat(bobSql).contains("employee_id = 'bob'").contains("2025-09-15");
+    }
+
+    @Test
+    void compile_givenRunConditionWithPlaceholder_shouldEvaluateAtBindTime() {
+        // Arrange
+        String json = """
+                {
+                  "type": "JavaQuery",
+                  "placeholder": "[today]",
+                  "operatorName": "dayOfWeek",
+                  "value": 1,
+                  "valueType": "NUMERIC"
+                }
+                """;
+
+        // Act
+        QueryPlan plan = compile(json);
+
+        // Assert
+        assertThat(ConstantConditions.isTrue(plan.bind(Map.of("[today]", "2025-09-15")))).isTrue();
+        assertThat(ConstantConditions.isFalse(plan.bind(Map.of("[today]", "2025-09-16")))).isTrue();
+    }
+
+    @Test
+    void bind_givenRunConditionInsideComposite_shouldFoldConstants() {
+        // Arrange
+        String json = """
+                {
+                  "type": "AndQuery",
+                  "children": [
+                    {
+                      "type": "JavaQuery",
+                      "placeholder": "[today]",
+                      "operatorName": "dayOfWeek",
+                      "value": 1,
+                      "valueType": "NUMERIC"
+                    },
+                    {
+                      "type": "StringQuery",
+                      "column": "status",
+                      "operatorName": "equals",
+                      "value": "OPEN",
+                      "valueType": "STRING"
+                    }
+                  ]
+                }
+                """;
+        QueryPlan plan = compile(json);
+
+        // Act
+        Condition monday = plan.bind(Map.of("[today]", "2025-09-15"));
+        Condition tuesday = plan.bind(Map.of("[today]", "2025-09-16"));
+
+        // Assert
+        assertThat(dsl.renderInlined(monday)).isEqualTo("status = 'OPEN'");
+        assertThat(ConstantConditions.isFalse(tuesday)).isTrue();
+    }
+
+    @Test
+    void compile_givenUnsupportedValueType_shouldThrowFieldTypeMismatchException() {
+        // Arrange
+        String json = """
+                {
+                  "type": "NumericQuery",
+                  "column": "salary",
+                  "operatorName": "greaterThan",
+                  "value": "abc",
+                  "valueType": "STRING"
+                }
+                """;
+
+        // Act & Assert
+        assertThatThrownBy(() -> compile(json)).isInstanceOf(FieldTypeMismatchException.class);
+    }
+
+    @Test
+    void bind_givenPlaceholderValueOfWrongType_shouldThrowInvalidQueryException() {
+        // Arrange
+        String json = """
+                {
+                  "type": "DateQuery",
+                  "column": "created_date",
+                  "operatorName": "equals",
+                  "value": "[today]",
+                  "valueType": "DATE"
+                }
+                """;
+        QueryPlan plan = compile(json);
+
+        // Act & Assert
+        assertThatThrownBy(() -> plan.bind(Map.of("[today]", "not-a-date")))
+                .isInstanceOf(InvalidQueryException.class);
+    }
+
+    @Test
+    void bind_givenDifferentUsers_shouldShareSqlTextAndDifferOnlyInBindValues() {
+        // Arrange
+        String json = """
+                {
+                  "type": "StringQuery",
+                  "column": "employee_id",
+                  "operatorName": "equals",
+                  "value": "[me]",
+                  "valueType": "STRING"
+                }
+                """;
+        QueryPlan plan = compile(json);
+
+        // Act
+        Condition alice = plan.bind(Map.of("[me]", "alice"));
+        Condition bob = plan.bind(Map.of("[me]", "bob"));
+
+        // Assert
+        assertThat(dsl.render(alice)).isEqualTo(dsl.render(bob));
+        assertThat(dsl.renderNamedParams(alice)).isEqualTo("employee_id = :me");
+        assertThat(dsl.extractParam(alice, "me").getValue()).isEqualTo("alice");
+        assertThat(dsl.extractParam(bob, "me").getValue()).isEqualTo("bob");
+    }
+
+    @Test
+    void compile_givenOrOfEqualsOnSameColumn_shouldMergeIntoInList() {
+        // Arrange
+        String json = """
+                {
+                  "type": "OrQuery",
+                  "children": [
+                    { "type": "StringQuery", "column": "status", "operatorName": "equals", "value": "OPEN", "valueType": "STRING" },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "equals", "value": 5, "valueType": "NUMERIC" },
+                    { "type": "StringQuery", "column": "status", "operatorName": "equals", "value": "CLOSED", "valueType": "STRING" },
+                    { "type": "StringQuery", "column": "status", "operatorName": "equals", "value": "[me]", "valueType": "STRING" }
+                  ]
+                }
+                """;
+
+        // Act
+        Condition condition = compile(json).bind(Map.of("[me]", "E001"));
+
+        // Assert
+        assertThat(dsl.renderInlined(condition))
+                .isEqualTo("(status in ('OPEN', 'CLOSED') or amount = 5 or status = 'E001')");
+    }
+
+    @Test
+    void compile_givenNestedConjunctionWithOverlappingRanges_shouldFlattenAndKeepTightestBounds() {
+        // Arrange
+        String json = """
+                {
+                  "type": "AndQuery",
+                  "children": [
+                    { "type": "StringQuery", "column": "status", "operatorName": "equals", "value": "OPEN", "valueType": "STRING" },
+                    {
+                      "type": "AndQuery",
+                      "children": [
+                        { "type": "StringQuery", "column": "status", "operatorName": "equals", "value": "OPEN", "valueType": "STRING" },
+                        { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThan", "value": 3, "valueType": "NUMERIC" },
+                        { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThan", "value": 10, "valueType": "NUMERIC" }
+                      ]
+                    },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "lessThanEqual", "value": 20, "valueType": "NUMERIC" },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "lessThan", "value": 30, "valueType": "NUMERIC" }
+                  ]
+                }
+                """;
+
+        // Act
+        Condition condition = compile(json).bind(Map.of());
+
+        // Assert
+        assertThat(dsl.renderInlined(condition)).isEqualTo("(status = 'OPEN' and amount > 10 and amount <= 20)");
+    }
+
+    @Test
+    void compile_givenContradictoryRange_shouldCompileToFalse() {
+        // Arrange
+        String json = """
+                {
+                  "type": "AndQuery",
+                  "children": [
+                    { "type": "StringQuery", "column": "employee_id", "operatorName": "equals", "value": "[me]", "valueType": "STRING" },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThan", "value": 10, "valueType": "NUMERIC" },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "lessThan", "value": 5, "valueType": "NUMERIC" }
+                  ]
+                }
+                """;
+
+        // Act
+        QueryPlan plan = compile(json);
+
+        // Assert
+        assertThat(plan.getRoot()).isEqualTo(ConstantPlanNode.FALSE);
+        assertThat(ConstantConditions.isFalse(plan.bind(Map.of("[me]", "E001")))).isTrue();
+    }
+}
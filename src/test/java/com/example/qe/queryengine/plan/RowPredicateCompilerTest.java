@@ -0,0 +1,213 @@
+package com.example.qe.queryengine.plan;
+
+import com.example.qe.queryengine.operator.ConditionParser;
+import com.example.qe.queryengine.operator.OperatorFactory;
+import com.example.qe.queryengine.operator.OperatorRegistry;
+import com.example.qe.queryengine.operator.OperatorScanner;
+import com.example.qe.queryengine.query.EvaluationContext;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RowPredicateCompilerTest {
+
+    private static final EvaluationContext CONTEXT =
+            new EvaluationContext(null, LocalDate.of(2025, 9, 14), (placeholder, context) -> null);
+
+    private Connection connection;
+    private DSLContext dsl;
+    private ConditionParser conditionParser;
+    private QueryPlanCompiler planCompiler;
+    private RowPredicateCompiler compiler;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        OperatorRegistry registry = new OperatorRegistry();
+        new OperatorScanner(registry).scanAndRegister();
+        OperatorFactory factory = new OperatorFactory(registry);
+        connection = DriverManager.getConnection("jdbc:h2:mem:rowpredicate;DATABASE_TO_LOWER=TRUE");
+        dsl = DSL.using(connection, SQLDialect.H2);
+        dsl.execute("create table trade (id int primary key, ccy varchar(10), amount decimal(10,2), active boolean, trade_date date)");
+        dsl.execute("insert into trade values (1, 'SGD', 100.00, true, '2025-09-14'), (2, 'USD', 250.50, false, '2025-09-15'),"
+                + " (3, null, 300, true, '2024-01-31'), (4, 'sgd', null, null, null), (5, 'EUR_X', 1000, false, '2025-10-15')");
+        dsl.execute("create table trade_event (id int primary key, booked_at timestamp)");
+        dsl.execute("insert into trade_event values (1, '2025-09-14 00:00:00'), (2, '2025-09-14 10:15:00'),"
+                + " (3, '2025-09-13 23:59:59'), (4, '2025-09-15 00:00:00')");
+        conditionParser = new ConditionParser(factory, dsl);
+        planCompiler = new QueryPlanCompiler(factory, false);
+        compiler = new RowPredicateCompiler(factory, false);
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "StringQuery|ccy|equals|\"SGD\"|STRING",
+            "StringQuery|ccy|notEquals|\"SGD\"|STRING",
+            "StringQuery|ccy|like|\"R_\"|STRING",
+            "StringQuery|ccy|startsWith|\"S\"|STRING",
+            "StringQuery|ccy|endsWith|\"X\"|STRING",
+            "StringQuery|ccy|in|[\"SGD\", \"EUR_X\", null]|STRING",
+            "StringQuery|ccy|notIn|[\"SGD\"]|STRING",
+            "StringQuery|ccy|isNull|\"x\"|STRING",
+            "NumericQuery|amount|greaterThan|250.5|NUMERIC",
+            "NumericQuery|amount|lessThanEqual|300|NUMERIC",
+            "NumericQuery|amount|in|[100, 1000, 1, 2, 3, 4, 5, 6, 7, 8]|NUMERIC",
+            "BoolQuery|active|equals|true|BOOLEAN",
+            "DateQuery|trade_date|greaterThanEqual|\"2025-09-15\"|DATE",
+            "DateQuery|trade_date|yearEqual|2025|NUMERIC",
+            "DateQuery|trade_date|dayOfMonth|15|NUMERIC",
+            "DateQuery|trade_date|daysBefore|1|NUMERIC"
+    })
+    void compile_givenFieldQuery_shouldMatchSameRowsAsDatabase(String spec) {
+        // Arrange
+        QueryPlan plan = planCompiler.compile(conditionParser.parseQuery(fieldQuery(spec.split("\\|"))));
+        Result<Record> rows = dsl.selectFrom("trade").orderBy(DSL.field("id")).fetch();
+
+        // Act
+        Predicate<Record> predicate = compiler.compile(plan, RowAccessor.ofRecord(), CONTEXT);
+
+        // Assert
+        List<Object> expected = List.copyOf(dsl.select(DSL.field("id")).from("trade")
+                .where(plan.bind(CONTEXT)).orderBy(DSL.field("id")).fetch(0));
+        assertThat(rows.stream().filter(predicate).map(row -> row.get("id")).toList())
+                .isNotEmpty()
+                .isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "DateQuery|booked_at|equals|\"2025-09-14\"|DATE",
+            "DateQuery|booked_at|notEquals|\"2025-09-14\"|DATE",
+            "DateQuery|booked_at|greaterThan|\"2025-09-14\"|DATE",
+            "DateQuery|booked_at|lessThanEqual|\"2025-09-14\"|DATE",
+            "DateQuery|booked_at|in|[\"2025-09-14\", \"2025-09-15\"]|DATE"
+    })
+    void compile_givenDateTimeRows_shouldCompareWithDateAtMidnightLikeDatabase(String spec) {
+        // Arrange
+        QueryPlan plan = planCompiler.compile(conditionParser.parseQuery(fieldQuery(spec.split("\\|"))));
+        Result<Record> rows = dsl.selectFrom("trade_event").orderBy(DSL.field("id")).fetch();
+
+        // Act
+        Predicate<Record> predicate = compiler.compile(plan, RowAccessor.ofRecord(), CONTEXT);
+
+        // Assert
+        List<Object> expected = List.copyOf(dsl.select(DSL.field("id")).from("trade_event")
+                .where(plan.bind(CONTEXT)).orderBy(DSL.field("id")).fetch(0));
+        assertThat(rows.stream().filter(predicate).map(row -> row.get("id")).toList())
+                .isNotEmpty()
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void compile_givenDateTimeStringInPayload_shouldNotTruncateForPlainComparison() {
+        // Arrange
+        String json = """
+                { "type": "DateQuery", "column": "trade_date", "operatorName": "greaterThan", "value": "2025-09-14", "valueType": "DATE" }
+                """;
+        QueryPlan plan = planCompiler.compile(conditionParser.parseQuery(json));
+
+        // Act
+        Predicate<Map<String, ?>> predicate = compiler.compile(plan, RowAccessor.ofMap(), CONTEXT);
+
+        // Assert
+        assertThat(predicate.test(Map.of("trade_date", "2025-09-14T10:15:00"))).isTrue();
+        assertThat(predicate.test(Map.of("trade_date", "2025-09-14 10:15:00+08:00"))).isTrue();
+        assertThat(predicate.test(Map.of("trade_date", "2025-09-14"))).isFalse();
+    }
+
+    @Test
+    void compile_givenCompositeWithRunCondition_shouldFoldRunCondition() {
+        // Arrange
+        String json = """
+                {
+                  "type": "OrQuery",
+                  "children": [
+                    {
+                      "type": "AndQuery",
+                      "children": [
+                        { "type": "JavaQuery", "placeholder": "2025-09-15", "operatorName": "dayOfWeek", "value": 2, "valueType": "NUMERIC" },
+                        { "type": "StringQuery", "column": "ccy", "operatorName": "equals", "value": "SGD", "valueType": "STRING" }
+                      ]
+                    },
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThan", "value": 500, "valueType": "NUMERIC" }
+                  ]
+                }
+                """;
+        QueryPlan plan = planCompiler.compile(conditionParser.parseQuery(json));
+
+        // Act
+        Predicate<Map<String, ?>> predicate = compiler.compile(plan, RowAccessor.ofMap(), CONTEXT);
+
+        // Assert
+        assertThat(predicate.test(Map.of("ccy", "SGD", "amount", 100))).isFalse();
+        assertThat(predicate.test(Map.of("ccy", "USD", "amount", 501))).isTrue();
+    }
+
+    @Test
+    void compile_givenPayloadWithLooseTypes_shouldConvertValues() {
+        // Arrange
+        String json = """
+                {
+                  "type": "AndQuery",
+                  "children": [
+                    { "type": "NumericQuery", "column": "amount", "operatorName": "greaterThanEqual", "value": 100.0, "valueType": "NUMERIC" },
+                    { "type": "DateQuery", "column": "trade_date", "operatorName": "daysAfter", "value": 0, "valueType": "NUMERIC" }
+                  ]
+                }
+                """;
+        QueryPlan plan = planCompiler.compile(conditionParser.parseQuery(json));
+
+        // Act
+        Predicate<Map<String, ?>> predicate = compiler.compile(plan, RowAccessor.ofMap(), CONTEXT);
+
+        // Assert
+        assertThat(predicate.test(Map.of("amount", 100, "trade_date", "2025-09-14T10:15:00"))).isTrue();
+        assertThat(predicate.test(Map.of("amount", 99.5, "trade_date", "2025-09-14"))).isFalse();
+        assertThat(predicate.test(Map.of("amount", 100))).isFalse();
+    }
+
+    @Test
+    void compile_givenPlaceholder_shouldBindValueFromContext() {
+        // Arrange
+        String json = """
+                { "type": "StringQuery", "column": "owner", "operatorName": "equals", "value": "[me]", "valueType": "STRING" }
+                """;
+        QueryPlan plan = planCompiler.compile(conditionParser.parseQuery(json));
+
+        // Act
+        Predicate<Map<String, ?>> alice = compiler.compile(plan, RowAccessor.ofMap(), EvaluationContext.of(Map.of("[me]", "alice")));
+
+        // Assert
+        assertThat(alice.test(Map.of("owner", "alice"))).isTrue();
+        assertThat(alice.test(Map.of("owner", "bob"))).isFalse();
+    }
+
+    private static String fieldQuery(String[] spec) {
+        return """
+                { "type": "%s", "column": "%s", "operatorName": "%s", "value": %s, "valueType": "%s" }
+                """.formatted(spec[0], spec[1], spec[2], spec[3], spec[4]);
+    }
+}
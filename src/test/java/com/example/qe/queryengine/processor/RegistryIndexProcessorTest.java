@@ -0,0 +1,239 @@
+package com.example.qe.queryengine.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RegistryIndexProcessorTest {
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    void process_givenAnnotatedOperator_shouldGenerateOperatorIndex() throws IOException {
+        // Arrange
+        Path source = writeSource("com/example/qe/queryengine/operator/impl/SampleOperator.java", """
+                package com.example.qe.queryengine.operator.impl;
+
+                import com.example.qe.queryengine.operator.GenericOperator;
+                import com.example.qe.queryengine.operator.OperatorAnnotation;
+                import org.jooq.Condition;
+                import org.jooq.Field;
+
+                @OperatorAnnotation(value = "sample", supportedFieldTypes = {String.class}, supportedValueTypes = {java.math.BigDecimal.class})
+                public class SampleOperator implements GenericOperator {
+                    @Override
+                    public Condition apply(Field<?> field, Object value) {
+                        return null;
+                    }
+                }
+                """);
+
+        // Act
+        boolean compiled = compile(source);
+
+        // Assert
+        assertThat(compiled).isTrue();
+        assertThat(generated("com/example/qe/queryengine/operator/GeneratedOperatorIndex.java"))
+                .contains("registry.register(\"sample\"")
+                .contains("new Class<?>[]{java.lang.String.class}")
+                .contains("new Class<?>[]{java.math.BigDecimal.class}")
+                .contains("new com.example.qe.queryengine.operator.impl.SampleOperator()");
+    }
+
+    @Test
+    void process_givenAnnotatedReplaceable_shouldGenerateReplaceableIndex() throws IOException {
+        // Arrange
+        Path source = writeSource("com/example/qe/queryengine/replaceable/impl/SampleReplaceable.java", """
+                package com.example.qe.queryengine.replaceable.impl;
+
+                import com.example.qe.queryengine.query.QueryContextDto;
+                import com.example.qe.queryengine.replaceable.Replaceable;
+                import com.example.qe.queryengine.replaceable.ReplaceableAnnotation;
+
+                @ReplaceableAnnotation("[sample]")
+                public class SampleReplaceable implements Replaceable {
+                    @Override
+                    public String resolve(QueryContextDto context) {
+                        return "sample";
+                    }
+                }
+                """);
+
+        // Act
+        boolean compiled = compile(source);
+
+        // Assert
+        assertThat(compiled).isTrue();
+        assertThat(generated("com/example/qe/queryengine/replaceable/GeneratedReplaceableIndex.java"))
+                .contains("registry.register(\"[sample]\", new com.example.qe.queryengine.replaceable.impl.SampleReplaceable());");
+    }
+
+    @Test
+    void process_givenPerRequestReplaceable_shouldRegisterClass() throws IOException {
+        // Arrange
+        Path source = writeSource("com/example/qe/queryengine/replaceable/impl/CounterReplaceable.java", """
+                package com.example.qe.queryengine.replaceable.impl;
+
+                import com.example.qe.queryengine.query.QueryContextDto;
+                import com.example.qe.queryengine.replaceable.Replaceable;
+                import com.example.qe.queryengine.replaceable.ReplaceableAnnotation;
+
+                @ReplaceableAnnotation(value = "[counter]", perRequest = true)
+                public class CounterReplaceable implements Replaceable {
+                    private int calls;
+
+                    @Override
+                    public String resolve(QueryContextDto context) {
+                        return String.valueOf(++calls);
+                    }
+                }
+                """);
+
+        // Act
+        boolean compiled = compile(source);
+
+        // Assert
+        assertThat(compiled).isTrue();
+        assertThat(generated("com/example/qe/queryengine/replaceable/GeneratedReplaceableIndex.java"))
+                .contains("registry.register(\"[counter]\", com.example.qe.queryengine.replaceable.impl.CounterReplaceable.class, true);");
+    }
+
+    @Test
+    void process_givenIncrementalCompileOfOneOperator_shouldKeepPreviouslyIndexedOperators() throws IOException {
+        // Arrange
+        Path sample = writeSource("com/example/qe/queryengine/operator/impl/SampleOperator.java", operatorSource("SampleOperator", "sample"));
+        Path other = writeSource("com/example/qe/queryengine/operator/impl/OtherOperator.java", operatorSource("OtherOperator", "other"));
+        Path classes = workDir.resolve("classes");
+        assertThat(compile(List.of(sample, other), List.of("-d", classes.toString()))).isTrue();
+
+        // Act
+        boolean compiled = compile(List.of(other), List.of("-d", classes.toString(), "-proc:only"));
+
+        // Assert
+        assertThat(compiled).isTrue();
+        assertThat(generated("com/example/qe/queryengine/operator/GeneratedOperatorIndex.java"))
+                .contains("new com.example.qe.queryengine.operator.impl.SampleOperator()")
+                .contains("new com.example.qe.queryengine.operator.impl.OtherOperator()");
+    }
+
+    @Test
+    void process_givenAnnotatedClassOutsideImplPackage_shouldNotGenerateIndex() throws IOException {
+        // Arrange
+        Path source = writeSource("com/example/qe/queryengine/replaceable/OtherReplaceable.java", """
+                package com.example.qe.queryengine.replaceable;
+
+                import com.example.qe.queryengine.query.QueryContextDto;
+
+                @ReplaceableAnnotation("[other]")
+                public class OtherReplaceable implements Replaceable {
+                    @Override
+                    public String resolve(QueryContextDto context) {
+                        return "other";
+                    }
+                }
+                """);
+
+        // Act
+        boolean compiled = compile(source);
+
+        // Assert
+        assertThat(compiled).isTrue();
+        assertThat(workDir.resolve("generated/com/example/qe/queryengine/replaceable/GeneratedReplaceableIndex.java")).doesNotExist();
+    }
+
+    @Test
+    void process_givenOperatorWithoutPublicConstructor_shouldFailCompilation() throws IOException {
+        // Arrange
+        Path source = writeSource("com/example/qe/queryengine/operator/impl/HiddenOperator.java", """
+                package com.example.qe.queryengine.operator.impl;
+
+                import com.example.qe.queryengine.operator.GenericOperator;
+                import com.example.qe.queryengine.operator.OperatorAnnotation;
+                import org.jooq.Condition;
+                import org.jooq.Field;
+
+                @OperatorAnnotation(value = "hidden", supportedFieldTypes = {String.class}, supportedValueTypes = {String.class})
+                public class HiddenOperator implements GenericOperator {
+                    private HiddenOperator() {
+                    }
+
+                    @Override
+                    public Condition apply(Field<?> field, Object value) {
+                        return null;
+                    }
+                }
+                """);
+
+        // Act
+        boolean compiled = compile(source);
+
+        // Assert
+        assertThat(compiled).isFalse();
+    }
+
+    private Path writeSource(String relativePath, String content) throws IOException {
+        Path source = workDir.resolve("src").resolve(relativePath);
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, content);
+        return source;
+    }
+
+    private static String operatorSource(String className, String name) {
+        return """
+                package com.example.qe.queryengine.operator.impl;
+
+                import com.example.qe.queryengine.operator.GenericOperator;
+                import com.example.qe.queryengine.operator.OperatorAnnotation;
+                import org.jooq.Condition;
+                import org.jooq.Field;
+
+                @OperatorAnnotation(value = "%s", supportedFieldTypes = {String.class}, supportedValueTypes = {String.class})
+                public class %s implements GenericOperator {
+                    @Override
+                    public Condition apply(Field<?> field, Object value) {
+                        return null;
+                    }
+                }
+                """.formatted(name, className);
+    }
+
+    private boolean compile(Path source) throws IOException {
+        return compile(List.of(source), List.of("-d", workDir.resolve("classes").toString(), "-proc:only"));
+    }
+
+    /**
+     * Compiles with the output directory on the classpath, as an incremental build does.
+     */
+    private boolean compile(List<Path> sources, List<String> outputOptions) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path classes = Files.createDirectories(workDir.resolve("classes"));
+        Path generated = Files.createDirectories(workDir.resolve("generated"));
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(sources);
+            List<String> options = new ArrayList<>(List.of(
+                    "-classpath", classes + File.pathSeparator + System.getProperty("java.class.path"),
+                    "-s", generated.toString()));
+            options.addAll(outputOptions);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(List.of(new RegistryIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    private String generated(String relativePath) throws IOException {
+        return Files.readString(workDir.resolve("generated").resolve(relativePath));
+    }
+}
@@ -5,8 +5,11 @@ import com.example.qe.queryengine.query.QueryContextDto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class ReplaceableFactoryTest {
 
@@ -27,6 +30,14 @@ class ReplaceableFactoryTest {
         }
     }
 
+    @ReplaceableAnnotation(value = "[REQUEST]", perRequest = true)
+    static class PerRequestReplaceable implements Replaceable {
+        @Override
+        public String resolve(QueryContextDto context) {
+            return "request";
+        }
+    }
+
     static class FailingReplaceable implements Replaceable {
         private FailingReplaceable() {
             throw new RuntimeException("Cannot instantiate");
@@ -61,7 +72,7 @@ class ReplaceableFactoryTest {
     }
 
     @Test
-    void create_givenMultipleCalls_shouldReturnDifferentInstances() {
+    void create_givenMultipleCalls_shouldReturnSameInstance() {
         // Arrange
         registry.register("[TEST]", DummyReplaceable.class);
 
@@ -70,6 +81,72 @@ class ReplaceableFactoryTest {
         Replaceable second = factory.create("[TEST]");
 
         // Assert
-        assertThat(first).isNotSameAs(second); // factory should create a new instance each time
+        assertThat(first).isSameAs(second); // stateless replaceables are shared across calls
+    }
+
+    @Test
+    void create_givenPerRequestReplaceable_shouldReturnDifferentInstances() {
+        // Arrange
+        registry.register("[REQUEST]", PerRequestReplaceable.class);
+
+        // Act
+        Replaceable first = factory.create("[REQUEST]");
+        Replaceable second = factory.create("[REQUEST]");
+
+        // Assert
+        assertThat(first).isNotSameAs(second);
+    }
+
+    @Test
+    void create_givenPreInstantiatedReplaceable_shouldReturnRegisteredInstance() {
+        // Arrange
+        DummyReplaceable instance = new DummyReplaceable();
+        registry.register("[TEST]", instance);
+
+        // Act
+        Replaceable result = factory.create("[TEST]");
+
+        // Assert
+        assertThat(result).isSameAs(instance);
+    }
+
+    @Test
+    void create_givenFailingConstructor_shouldThrowQueryReplaceableException() {
+        // Arrange
+        registry.register("[FAIL]", FailingReplaceable.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> factory.create("[FAIL]"))
+                .isInstanceOf(QueryReplaceableException.class)
+                .hasMessageContaining("Failed to create Replaceable for [FAIL]");
+    }
+
+    @Test
+    void create_givenSharedReplaceable_shouldAllocateLessThanPerRequest() {
+        // Arrange
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        registry.register("[TEST]", DummyReplaceable.class);
+        registry.register("[REQUEST]", PerRequestReplaceable.class);
+        int calls = 100_000;
+        allocatedBytes("[TEST]", calls); // warm up both paths
+        allocatedBytes("[REQUEST]", calls);
+
+        // Act
+        long shared = allocatedBytes("[TEST]", calls);
+        long perRequest = allocatedBytes("[REQUEST]", calls);
+
+        // Assert
+        assertThat(perRequest).isGreaterThanOrEqualTo((long) calls * 16); // at least one object header per call
+        assertThat(shared).isLessThan(perRequest / 10);
+    }
+
+    private long allocatedBytes(String placeholder, int calls) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < calls; i++) {
+            factory.create(placeholder);
+        }
+        return threads.getThreadAllocatedBytes(threadId) - before;
     }
 }
@@ -1,11 +1,17 @@
 package com.example.qe.queryengine.replaceable;
 
 import com.example.qe.queryengine.exception.QueryReplaceableException;
+import com.example.qe.queryengine.query.EvaluationContext;
 import com.example.qe.queryengine.query.QueryContextDto;
+import com.example.qe.queryengine.replaceable.impl.TodayReplaceable;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -144,4 +150,169 @@ class ReplaceableResolverTest {
         assertThat(result).isEqualToIgnoringWhitespace(json);
         verifyNoInteractions(factory);
     }
+
+    @Test
+    void processJsonPlaceholders_givenRepeatedPlaceholder_shouldResolveOnce() throws Exception {
+        // Arrange
+        String json = """
+                {
+                  "type": "OrQuery",
+                  "children": [
+                    { "type": "DateQuery", "column": "birthday", "operatorName": "equals", "value": "[today]", "valueType": "DATE" },
+                    { "type": "DateQuery", "column": "joined", "operatorName": "equals", "value": "[today]", "valueType": "DATE" },
+                    { "type": "DateQuery", "column": "left", "operatorName": "equals", "value": "[today]", "valueType": "DATE" }
+                  ]
+                }
+                """;
+        QueryContextDto context = QueryContextDto.builder().json(json).build();
+        when(factory.create("[today]")).thenReturn(new DummyReplaceable("2025-09-09"));
+
+        // Act
+        String result = resolver.processJsonPlaceholders(context);
+
+        // Assert
+        assertThat(result).doesNotContain("[today]");
+        verify(factory, times(1)).create("[today]");
+    }
+
+    @Test
+    void createEvaluationContext_givenRepeatedResolve_shouldReuseFirstValue() {
+        // Arrange
+        Replaceable counter = new Replaceable() {
+            private int calls;
+
+            @Override
+            public String resolve(QueryContextDto context) {
+                return String.valueOf(++calls);
+            }
+        };
+        when(factory.create("[counter]")).thenReturn(counter);
+        EvaluationContext context = resolver.createEvaluationContext(new QueryContextDto());
+
+        // Act
+        String first = context.resolve("[counter]");
+        String second = context.resolve("[counter]");
+
+        // Assert
+        assertThat(first).isEqualTo("1");
+        assertThat(second).isEqualTo("1");
+    }
+
+    @Test
+    void createEvaluationContext_givenSpoofDate_shouldEvaluateAsOfThatDate() {
+        // Arrange
+        QueryContextDto contextDto = new QueryContextDto();
+        contextDto.setSpoofDate("1999-05-14");
+
+        // Act
+        EvaluationContext context = resolver.createEvaluationContext(contextDto);
+
+        // Assert
+        assertThat(context.getToday()).isEqualTo(LocalDate.of(1999, 5, 14));
+    }
+
+    @Test
+    void createEvaluationContext_givenDayAndSpoofDate_shouldResolveTodayToTheContextDay() {
+        // Arrange
+        when(factory.create("[today]")).thenReturn(new TodayReplaceable());
+        QueryContextDto contextDto = new QueryContextDto();
+        contextDto.setSpoofDate(" 1999-05-14 ");
+
+        // Act
+        String spoofed = resolver.createEvaluationContext(contextDto).resolve("[today]");
+        String onDay = resolver.createEvaluationContext(contextDto, LocalDate.of(2025, 9, 14)).resolve("[today]");
+
+        // Assert
+        assertThat(spoofed).isEqualTo("1999-05-14");
+        assertThat(onDay).isEqualTo("2025-09-14");
+    }
+
+    @Test
+    void createEvaluationContext_givenMalformedSpoofDate_shouldThrowQueryReplaceableException() {
+        // Arrange
+        QueryContextDto contextDto = new QueryContextDto();
+        contextDto.setSpoofDate("14/05/1999");
+
+        // Act & Assert
+        assertThatThrownBy(() -> resolver.createEvaluationContext(contextDto))
+                .isInstanceOf(QueryReplaceableException.class)
+                .hasMessageContaining("spoofDate");
+    }
+
+    @Test
+    void createResolvingParser_givenNestedPlaceholders_shouldResolveWhileReading() throws Exception {
+        // Arrange
+        String json = """
+                {
+                  "type": "AndQuery",
+                  "children": [
+                    {
+                      "type": "DateQuery",
+                      "column": "birthday",
+                      "operatorName": "equals",
+                      "value": "[today]",
+                      "valueType": "DATE"
+                    },
+                    {
+                      "type": "StringQuery",
+                      "column": "employee_id",
+                      "operatorName": "equals",
+                      "value": "[me]",
+                      "valueType": "STRING"
+                    }
+                  ]
+                }
+                """;
+        QueryContextDto context = QueryContextDto.builder().json(json).build();
+        when(factory.create("[today]")).thenReturn(new DummyReplaceable("2025-09-09"));
+        when(factory.create("[me]")).thenReturn(new DummyReplaceable("user-12345"));
+
+        // Act
+        JsonNode result;
+        try (JsonParser parser = resolver.createResolvingParser(context)) {
+            result = new ObjectMapper().readTree(parser);
+        }
+
+        // Assert
+        assertThat(result.at("/children/0/value").asText()).isEqualTo("2025-09-09");
+        assertThat(result.at("/children/1/value").asText()).isEqualTo("user-12345");
+        assertThat(result.at("/children/1/column").asText()).isEqualTo("employee_id");
+    }
+
+    @Test
+    void createResolvingParser_givenPlaceholderResolvingToNull_shouldExposeNullToken() throws Exception {
+        // Arrange
+        String json = """
+                {
+                  "type": "StringQuery",
+                  "column": "employee_id",
+                  "operatorName": "equals",
+                  "value": "[me]",
+                  "valueType": "STRING"
+                }
+                """;
+        QueryContextDto context = QueryContextDto.builder().json(json).build();
+        when(factory.create("[me]")).thenReturn(new DummyReplaceable(null));
+
+        // Act
+        JsonNode result;
+        try (JsonParser parser = resolver.createResolvingParser(context)) {
+            result = new ObjectMapper().readTree(parser);
+        }
+
+        // Assert
+        assertThat(result.get("value").isNull()).isTrue();
+    }
+
+    @Test
+    void createResolvingParser_givenEmptyJson_shouldThrowQueryReplaceableException() {
+        // Arrange
+        QueryContextDto context = QueryContextDto.builder().json("  ").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> resolver.createResolvingParser(context))
+                .isInstanceOf(QueryReplaceableException.class)
+                .hasMessageContaining("JSON cannot be null or empty");
+        verifyNoInteractions(factory);
+    }
 }